@@ -81,6 +81,56 @@ public interface ComponentContainer extends NbtSerializable {
     @Contract(mutates = "param")
     NbtCompound toTag(NbtCompound tag);
 
+    /**
+     * Checks whether any {@link DirtyTrackingComponent} in this container has unsaved changes.
+     *
+     * @return {@code true} if at least one component in this container is {@linkplain DirtyTrackingComponent#isDirty() dirty}
+     */
+    @ApiStatus.Experimental
+    @Contract(pure = true)
+    default boolean hasDirtyComponents() {
+        for (ComponentKey<?> key : this.keys()) {
+            if (key.getInternal(this) instanceof DirtyTrackingComponent tracking && tracking.isDirty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether this container holds components that may change without telling anyone.
+     *
+     * <p>Components that neither implement {@link DirtyTrackingComponent} nor {@link TransientComponent} are untracked.
+     * Providers that used to be saved unconditionally keep doing so as long as they hold untracked components.
+     *
+     * @return {@code true} if at least one component in this container does not track its own changes
+     */
+    @ApiStatus.Experimental
+    @Contract(pure = true)
+    default boolean hasUntrackedComponents() {
+        for (ComponentKey<?> key : this.keys()) {
+            Component component = key.getInternal(this);
+            if (!(component instanceof DirtyTrackingComponent) && !(component instanceof TransientComponent)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Marks every {@link DirtyTrackingComponent} in this container as saved.
+     *
+     * <p>This method should only be called by persistence code, right after the container got saved.
+     */
+    @ApiStatus.Experimental
+    default void clearDirtyComponents() {
+        for (ComponentKey<?> key : this.keys()) {
+            if (key.getInternal(this) instanceof DirtyTrackingComponent tracking) {
+                tracking.setDirty(false);
+            }
+        }
+    }
+
     /**
      * A factory for {@link ComponentContainer}s.
      *
@@ -177,6 +227,35 @@ public interface ComponentContainer extends NbtSerializable {
                 return this;
             }
 
+            /**
+             * Registers a component that only gets instantiated the first time it is accessed.
+             *
+             * <p>Lazy components that have never been accessed are neither ticked nor serialized.
+             * This is useful for components that are rarely used but attached to many providers.
+             *
+             * @see #lazyComponent(ComponentKey, Class, ComponentFactory, Set)
+             */
+            @ApiStatus.Experimental
+            @Contract(mutates = "this")
+            public <C extends Component> Builder<T> lazyComponent(ComponentKey<C> key, ComponentFactory<T, ? extends C> factory) {
+                return this.lazyComponent(key, key.getComponentClass(), factory, Set.of());
+            }
+
+            /**
+             * Registers a component that only gets instantiated the first time it is accessed.
+             *
+             * <p>Lazy components that have never been accessed are neither ticked nor serialized.
+             * When a lazy component gets instantiated, its lazy dependencies are instantiated first.
+             * If a component that is not lazy depends on a lazy one, the latter gets instantiated
+             * eagerly along with the former.
+             */
+            @ApiStatus.Experimental
+            @Contract(mutates = "this")
+            public <C extends Component> Builder<T> lazyComponent(ComponentKey<? super C> key, Class<C> implClass, ComponentFactory<T, ? extends C> factory, Set<ComponentKey<?>> dependencies) {
+                super.component(key, implClass, factory, dependencies, true);
+                return this;
+            }
+
             /**
              * Sets a suffix for the generated factory class' {@link Class#getName() name}.
              *
@@ -24,8 +24,16 @@ package dev.onyxstudios.cca.api.v3.component;
 
 import dev.onyxstudios.cca.api.v3.component.sync.AutoSyncedComponent;
 import dev.onyxstudios.cca.api.v3.component.sync.ComponentPacketWriter;
+import dev.onyxstudios.cca.api.v3.component.sync.DeltaSyncedComponent;
 import dev.onyxstudios.cca.api.v3.component.sync.PlayerSyncPredicate;
+import dev.onyxstudios.cca.api.v3.component.sync.RecipientIndependentPacketWriter;
+import dev.onyxstudios.cca.internal.base.ComponentSyncScheduler;
+import dev.onyxstudios.cca.internal.base.DeferredSyncProvider;
+import dev.onyxstudios.cca.internal.base.PendingComponentSyncs;
+import dev.onyxstudios.cca.internal.base.SlottedComponentContainer;
 import dev.onyxstudios.cca.internal.base.asm.CcaBootstrap;
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.PacketByteBuf;
 import net.minecraft.network.packet.Packet;
 import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.util.Identifier;
@@ -36,6 +44,7 @@ import org.jetbrains.annotations.Nullable;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * A key for retrieving {@link Component} instances from component providers.
@@ -123,6 +132,16 @@ public abstract class ComponentKey<C extends Component> {
      *
      * <p>This method has no visible effect if the given provider does not support synchronization, or
      * the associated component does not implement an adequate synchronization interface.
+     * {@link DeltaSyncedComponent}s are only synchronized if some of their fields changed, and their changes
+     * are cleared afterwards.
+     *
+     * <p>Providers whose updates are already batched by the game, like chunks, may hold on to the sync
+     * and perform it along with their next update.
+     *
+     * <p>If the {@code coalesce-component-sync} config option is enabled, the component is only marked for
+     * synchronization, and gets synchronized once at the end of the server tick.
+     * If the {@code sync-budget-per-player} config option is set, the full sync of a regular {@link AutoSyncedComponent}
+     * is queued for each recipient, and may get delayed until the player's connection has room for it.
      *
      * @param provider a component provider
      * @throws NoSuchElementException if the provider does not provide this type of component
@@ -130,8 +149,39 @@ public abstract class ComponentKey<C extends Component> {
      * @see ComponentAccess#syncComponent(ComponentKey)
      */
     public void sync(Object provider) {
-        if (this.get(provider) instanceof AutoSyncedComponent synced) {
-            this.sync(provider, synced, synced);
+        if (!(this.get(provider) instanceof AutoSyncedComponent)) return;
+
+        if (provider instanceof DeferredSyncProvider deferred && deferred.cca$deferSync(this)) {
+            return;
+        }
+
+        if (PendingComponentSyncs.shouldDefer()) {
+            PendingComponentSyncs.mark((ComponentProvider) provider, this);
+        } else {
+            this.syncImmediately(provider);
+        }
+    }
+
+    /**
+     * Synchronizes the component attached to the given provider right away, regardless of sync coalescing.
+     *
+     * @see #sync(Object)
+     */
+    @ApiStatus.Internal
+    public void syncImmediately(Object provider) {
+        C component = this.get(provider);
+
+        if (component instanceof DeltaSyncedComponent delta) {
+            if (delta.getChangedFields() != 0) {
+                this.sync(provider, delta, delta);
+                delta.setChangedFields(0);
+            }
+        } else if (component instanceof AutoSyncedComponent synced) {
+            if (ComponentSyncScheduler.shouldSchedule()) {
+                ComponentSyncScheduler.schedule((ComponentProvider) provider, this, synced);
+            } else {
+                this.sync(provider, synced, synced);
+            }
         }
     }
 
@@ -159,6 +209,9 @@ public abstract class ComponentKey<C extends Component> {
      * <p>This method has no visible effect if the given provider does not support synchronization, or
      * the associated component does not implement an adequate synchronization interface.
      *
+     * <p>If {@code packetWriter} is a {@link RecipientIndependentPacketWriter}, it only gets called once,
+     * and its output is shared between every recipient.
+     *
      * @param provider     a component provider
      * @param packetWriter a writer for the sync packet
      * @param predicate    a predicate for which players should receive the packet
@@ -167,8 +220,24 @@ public abstract class ComponentKey<C extends Component> {
      * @see ComponentAccess#syncComponent(ComponentKey, ComponentPacketWriter, PlayerSyncPredicate)
      */
     public void sync(Object provider, ComponentPacketWriter packetWriter, PlayerSyncPredicate predicate) {
-        for (ServerPlayerEntity player : ((ComponentProvider) provider).getRecipientsForComponentSync()) {
-            this.syncWith(player, (ComponentProvider) provider, packetWriter, predicate);
+        ComponentProvider p = (ComponentProvider) provider;
+
+        if (packetWriter instanceof RecipientIndependentPacketWriter) {
+            SharedPayloadSync sharedSync = new SharedPayloadSync(this, p, packetWriter, predicate);
+
+            try {
+                p.forEachSyncRecipient(sharedSync);
+            } finally {
+                sharedSync.release();
+            }
+        } else {
+            DirectSync directSync = DirectSync.acquire(this, p, packetWriter, predicate);
+
+            try {
+                p.forEachSyncRecipient(directSync);
+            } finally {
+                directSync.release();
+            }
         }
     }
 
@@ -185,11 +254,32 @@ public abstract class ComponentKey<C extends Component> {
      */
     @ApiStatus.Experimental
     public void syncWith(ServerPlayerEntity player, ComponentProvider provider) {
-        if (this.get(provider) instanceof AutoSyncedComponent synced) {
-            this.syncWith(player, provider, synced, synced);
+        ComponentPacketWriter writer = this.getFullSyncWriter(player, provider);
+
+        if (writer != null) {
+            this.syncWith(player, provider, writer, PlayerSyncPredicate.all());
         }
     }
 
+    /**
+     * @return a writer for the whole state of the component attached to {@code provider}, or {@code null}
+     * if that component should not be synchronized with {@code player}
+     * @throws NoSuchElementException if the provider does not provide this type of component
+     * @see #syncWith(ServerPlayerEntity, ComponentProvider)
+     */
+    @ApiStatus.Internal
+    public @Nullable ComponentPacketWriter getFullSyncWriter(ServerPlayerEntity player, ComponentProvider provider) {
+        C component = this.get(provider);
+
+        if (component instanceof DeltaSyncedComponent delta) {
+            // the player has none of the component's data yet, so pending changes are not enough
+            return delta.shouldSyncWith(player) ? delta::writeFullSyncPacket : null;
+        } else if (component instanceof AutoSyncedComponent synced) {
+            return synced.shouldSyncWith(player) ? synced : null;
+        }
+        return null;
+    }
+
     @ApiStatus.Experimental
     public void syncWith(ServerPlayerEntity player, ComponentProvider provider, ComponentPacketWriter writer, PlayerSyncPredicate predicate) {
         if (predicate.shouldSyncWith(player)) {
@@ -211,6 +301,7 @@ public abstract class ComponentKey<C extends Component> {
 
     private final Identifier id;
     private final Class<C> componentClass;
+    private final int slot;
 
     /**
      * Constructs a new immutable ComponentType
@@ -222,6 +313,15 @@ public abstract class ComponentKey<C extends Component> {
         if (!CcaBootstrap.INSTANCE.isGenerated(this.getClass())) throw new IllegalStateException();
         this.componentClass = componentClass;
         this.id = id;
+        this.slot = CcaBootstrap.INSTANCE.getSlot(id);
+    }
+
+    /**
+     * @return the fixed index assigned to this key during bootstrap, used by generated containers to store components
+     */
+    @ApiStatus.Internal
+    public final int getSlot() {
+        return this.slot;
     }
 
     /**
@@ -231,13 +331,114 @@ public abstract class ComponentKey<C extends Component> {
      * @see #get(Object)
      * @see #maybeGet(Object)
      */
-    // overridden by generated types
     @Contract(pure = true)
     @ApiStatus.Internal
-    public abstract @Nullable C getInternal(ComponentContainer container);
+    public @Nullable C getInternal(ComponentContainer container) {
+        // every container is generated, and generated containers all share the same slotted layout
+        @SuppressWarnings("unchecked") C component = (C) ((SlottedComponentContainer) container).getBySlot(this.slot);
+        return component;
+    }
 
     @ApiStatus.Internal
     public C getFromContainer(ComponentContainer container) {
         return Objects.requireNonNull(this.getInternal(container));
     }
+
+    /**
+     * Sends a packet written specifically for each accepted recipient.
+     *
+     * <p>Syncs requested on the server thread reuse a single instance, so that the common path does not allocate.
+     * Nested syncs, and syncs requested from other threads, get their own instance.
+     */
+    private static final class DirectSync implements Consumer<ServerPlayerEntity> {
+        private static final DirectSync SERVER_THREAD_INSTANCE = new DirectSync();
+
+        private @Nullable ComponentKey<?> key;
+        private @Nullable ComponentProvider provider;
+        private @Nullable ComponentPacketWriter packetWriter;
+        private @Nullable PlayerSyncPredicate predicate;
+        private boolean inUse;
+
+        static DirectSync acquire(ComponentKey<?> key, ComponentProvider provider, ComponentPacketWriter packetWriter, PlayerSyncPredicate predicate) {
+            DirectSync sync = SERVER_THREAD_INSTANCE;
+
+            if (sync.inUse || !PendingComponentSyncs.isServerThread()) {
+                sync = new DirectSync();
+            }
+
+            sync.inUse = true;
+            sync.key = key;
+            sync.provider = provider;
+            sync.packetWriter = packetWriter;
+            sync.predicate = predicate;
+            return sync;
+        }
+
+        @Override
+        public void accept(ServerPlayerEntity player) {
+            assert this.key != null && this.provider != null && this.packetWriter != null && this.predicate != null;
+            this.key.syncWith(player, this.provider, this.packetWriter, this.predicate);
+        }
+
+        void release() {
+            // do not keep the last synced provider alive
+            this.key = null;
+            this.provider = null;
+            this.packetWriter = null;
+            this.predicate = null;
+            this.inUse = false;
+        }
+    }
+
+    /**
+     * Sends the data written by a {@link RecipientIndependentPacketWriter} to every accepted recipient,
+     * encoding it the first time it is needed.
+     *
+     * <p>Also serves as the writer of every packet, copying the encoded data after each recipient's header.
+     */
+    private static final class SharedPayloadSync implements Consumer<ServerPlayerEntity>, ComponentPacketWriter {
+        private final ComponentKey<?> key;
+        private final ComponentProvider provider;
+        private final ComponentPacketWriter packetWriter;
+        private final PlayerSyncPredicate predicate;
+        private @Nullable PacketByteBuf payload;
+
+        SharedPayloadSync(ComponentKey<?> key, ComponentProvider provider, ComponentPacketWriter packetWriter, PlayerSyncPredicate predicate) {
+            this.key = key;
+            this.provider = provider;
+            this.packetWriter = packetWriter;
+            this.predicate = predicate;
+        }
+
+        @Override
+        public void accept(ServerPlayerEntity player) {
+            if (!this.predicate.shouldSyncWith(player)) return;
+
+            if (this.payload == null) {
+                // encoded once, with whichever player comes first
+                this.payload = new PacketByteBuf(Unpooled.buffer());
+                this.packetWriter.writeSyncPacket(this.payload, player);
+            }
+
+            Packet<?> packet = this.provider.toComponentPacket(this.key, this, player);
+
+            if (packet != null) {
+                player.networkHandler.sendPacket(packet);
+            }
+        }
+
+        @Override
+        public void writeSyncPacket(PacketByteBuf buf, ServerPlayerEntity recipient) {
+            PacketByteBuf data = this.payload;
+            assert data != null;
+            buf.writeBytes(data, data.readerIndex(), data.readableBytes());
+        }
+
+        void release() {
+            if (this.payload != null) {
+                this.payload.release();
+                this.payload = null;
+            }
+        }
+    }
 }
@@ -30,6 +30,7 @@ import net.minecraft.server.network.ServerPlayerEntity;
 
 import javax.annotation.Nullable;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * @see ComponentAccess
@@ -57,6 +58,21 @@ public interface ComponentProvider extends ComponentAccess {
         return List.of();
     }
 
+    /**
+     * Calls {@code action} on every player who may receive component sync packets from this provider.
+     *
+     * <p>This method is equivalent to iterating over {@link #getRecipientsForComponentSync()}, but implementations
+     * can override it to walk their recipients without allocating an intermediate collection.
+     *
+     * @param action the action to perform on each player candidate for receiving component sync packets
+     * @since 5.2.0
+     */
+    default void forEachSyncRecipient(Consumer<ServerPlayerEntity> action) {
+        for (ServerPlayerEntity player : this.getRecipientsForComponentSync()) {
+            action.accept(player);
+        }
+    }
+
     /**
      * Produces a sync packet using the given information.
      *
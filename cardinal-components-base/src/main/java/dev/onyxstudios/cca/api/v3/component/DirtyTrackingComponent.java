@@ -0,0 +1,61 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2023 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.api.v3.component;
+
+import net.minecraft.nbt.NbtCompound;
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * A component that keeps track of changes to its serialized data.
+ *
+ * <p>Providers only save their components when they have changed since the last save, or when they
+ * get saved for some other reason. Components that do not implement this interface are assumed to change
+ * at any time: they keep world and scoreboard data saved on every autosave, as before, and do not
+ * cause chunks or other providers to be saved on their own.
+ *
+ * <p>Implementations must call {@link #markDirty()} whenever data that would be written by
+ * {@link #writeToNbt(NbtCompound)} changes.
+ *
+ * @since 5.2.0
+ */
+@ApiStatus.Experimental
+public interface DirtyTrackingComponent extends Component {
+    /**
+     * @return {@code true} if this component's data changed since it was last saved
+     */
+    boolean isDirty();
+
+    /**
+     * Sets whether this component's data changed since it was last saved.
+     *
+     * <p>Providers call this method with {@code false} after saving the component.
+     */
+    void setDirty(boolean dirty);
+
+    /**
+     * Marks this component's data as changed, so that its provider gets saved.
+     */
+    default void markDirty() {
+        this.setDirty(true);
+    }
+}
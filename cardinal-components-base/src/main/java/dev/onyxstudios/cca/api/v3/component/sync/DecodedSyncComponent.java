@@ -0,0 +1,52 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2023 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.api.v3.component.sync;
+
+import com.demonwav.mcdev.annotations.CheckEnv;
+import com.demonwav.mcdev.annotations.Env;
+import net.minecraft.network.PacketByteBuf;
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * An {@link AutoSyncedComponent} whose sync packets get decoded on the network thread.
+ *
+ * <p>When a {@link SyncPacketDecoder} is {@linkplain SyncPacketDecoder#register registered} for the component's key,
+ * the client reads incoming sync packets into update objects as soon as they arrive, and the game thread
+ * only has to call {@link #applySyncUpdate(Object)}. This keeps the cost of parsing large or frequent packets
+ * off the render thread. Without a registered decoder, {@link #applySyncPacket(PacketByteBuf)} is used as usual.
+ *
+ * @param <U> the type of update objects produced by the decoder
+ * @since 5.2.0
+ */
+@ApiStatus.Experimental
+public interface DecodedSyncComponent<U> extends AutoSyncedComponent {
+    /**
+     * Applies an update produced by this component's {@link SyncPacketDecoder}.
+     *
+     * <p>This method is called on the game thread.
+     *
+     * @param update the decoded content of a sync packet
+     */
+    @CheckEnv(Env.CLIENT)
+    void applySyncUpdate(U update);
+}
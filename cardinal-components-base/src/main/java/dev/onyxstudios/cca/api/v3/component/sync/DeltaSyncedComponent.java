@@ -0,0 +1,153 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2023 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.api.v3.component.sync;
+
+import com.demonwav.mcdev.annotations.CheckEnv;
+import com.demonwav.mcdev.annotations.Env;
+import dev.onyxstudios.cca.api.v3.component.ComponentKey;
+import dev.onyxstudios.cca.api.v3.component.ComponentProvider;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.server.network.ServerPlayerEntity;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Contract;
+
+/**
+ * An {@link AutoSyncedComponent} that only sends the fields that changed since its last synchronization.
+ *
+ * <p>Implementations split their synced state into up to {@value #MAX_FIELDS} numbered fields,
+ * call {@link #markFieldChanged(int)} whenever one of them changes, then call {@link ComponentKey#sync(Object)}
+ * as usual. Sync packets consist of a mask of the changed fields followed by the data written by
+ * {@link #writeField(int, PacketByteBuf, ServerPlayerEntity)} for each of them, in ascending order.
+ * Once every current watcher has been sent the changes, the changed fields are cleared.
+ *
+ * <p>Players that start watching the provider, and therefore have none of its data yet,
+ * receive every field through {@link #writeFullSyncPacket(PacketByteBuf, ServerPlayerEntity)}.
+ *
+ * @since 5.2.0
+ */
+@ApiStatus.Experimental
+public interface DeltaSyncedComponent extends AutoSyncedComponent {
+    /**
+     * The maximum number of fields a delta-synced component can have
+     */
+    int MAX_FIELDS = Long.SIZE;
+
+    /**
+     * @return the number of synced fields in this component, between {@code 1} and {@value #MAX_FIELDS}
+     */
+    int getSyncedFieldCount();
+
+    /**
+     * @return a bit mask of the fields that changed since the last synchronization
+     */
+    long getChangedFields();
+
+    /**
+     * Sets the bit mask of the fields that changed since the last synchronization.
+     *
+     * <p>{@link ComponentKey#sync(Object)} calls this method with {@code 0} once the changes have been sent.
+     */
+    void setChangedFields(long changedFields);
+
+    /**
+     * Marks a field as changed, so that it gets sent on the next call to {@link ComponentKey#sync(Object)}.
+     *
+     * @param field the index of the field, lower than {@link #getSyncedFieldCount()}
+     */
+    default void markFieldChanged(int field) {
+        this.setChangedFields(this.getChangedFields() | (1L << field));
+    }
+
+    /**
+     * Writes the current value of a single field to {@code buf}.
+     *
+     * @param field     the index of the field to write
+     * @param buf       the buffer to write the data to
+     * @param recipient the player to which the packet will be sent
+     */
+    @Contract(mutates = "param2")
+    void writeField(int field, PacketByteBuf buf, ServerPlayerEntity recipient);
+
+    /**
+     * Reads a single field written by {@link #writeField(int, PacketByteBuf, ServerPlayerEntity)}.
+     *
+     * @param field the index of the field to read
+     * @param buf   the buffer to read the data from
+     */
+    @CheckEnv(Env.CLIENT)
+    void readField(int field, PacketByteBuf buf);
+
+    /**
+     * {@inheritDoc}
+     *
+     * @implSpec The default implementation writes every {@linkplain #getChangedFields() changed field}.
+     */
+    @Contract(mutates = "param1")
+    @Override
+    default void writeSyncPacket(PacketByteBuf buf, ServerPlayerEntity recipient) {
+        this.writeFields(this.getChangedFields(), buf, recipient);
+    }
+
+    /**
+     * Writes every field of this component to {@code buf}, regardless of whether it changed.
+     *
+     * <p>This is used when a player starts watching this component's provider.
+     *
+     * @see ComponentKey#syncWith(ServerPlayerEntity, ComponentProvider)
+     */
+    @Contract(mutates = "param1")
+    default void writeFullSyncPacket(PacketByteBuf buf, ServerPlayerEntity recipient) {
+        int fieldCount = this.getSyncedFieldCount();
+        this.writeFields(fieldCount >= MAX_FIELDS ? -1L : (1L << fieldCount) - 1, buf, recipient);
+    }
+
+    /**
+     * Writes a mask of the given fields, followed by each of them in ascending order.
+     *
+     * @param fields a bit mask of the fields to write
+     */
+    @Contract(mutates = "param2")
+    default void writeFields(long fields, PacketByteBuf buf, ServerPlayerEntity recipient) {
+        buf.writeVarLong(fields);
+
+        for (long remaining = fields; remaining != 0; remaining &= remaining - 1) {
+            this.writeField(Long.numberOfTrailingZeros(remaining), buf, recipient);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @implSpec The default implementation reads the field mask, then passes each field
+     * in the mask to {@link #readField(int, PacketByteBuf)}.
+     */
+    @CheckEnv(Env.CLIENT)
+    @Override
+    default void applySyncPacket(PacketByteBuf buf) {
+        long fields = buf.readVarLong();
+
+        for (long remaining = fields; remaining != 0; remaining &= remaining - 1) {
+            this.readField(Long.numberOfTrailingZeros(remaining), buf);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2023 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.api.v3.component.sync;
+
+import dev.onyxstudios.cca.api.v3.component.ComponentKey;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.server.network.ServerPlayerEntity;
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * A {@link ComponentPacketWriter} that writes the same data regardless of the {@code recipient}.
+ *
+ * <p>When synchronizing with several players through {@link ComponentKey#sync(Object, ComponentPacketWriter, PlayerSyncPredicate)},
+ * such writers are only called once, with the first recipient, and the resulting data is copied into every packet.
+ * An {@link AutoSyncedComponent} implementing this interface benefits from this for all of its default syncs.
+ *
+ * @since 5.2.0
+ */
+@ApiStatus.Experimental
+@FunctionalInterface
+public interface RecipientIndependentPacketWriter extends ComponentPacketWriter {
+    /**
+     * Marks an existing writer as recipient-independent.
+     *
+     * @param writer a writer that ignores its {@code recipient} parameter
+     * @return {@code writer} itself if it already implements this interface, or a delegating writer
+     */
+    static RecipientIndependentPacketWriter of(ComponentPacketWriter writer) {
+        return writer instanceof RecipientIndependentPacketWriter independent ? independent : writer::writeSyncPacket;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The data written to {@code buf} must not depend on {@code recipient}.
+     */
+    @Override
+    void writeSyncPacket(PacketByteBuf buf, ServerPlayerEntity recipient);
+}
@@ -0,0 +1,65 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2023 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.api.v3.component.sync;
+
+import dev.onyxstudios.cca.api.v3.component.ComponentKey;
+import dev.onyxstudios.cca.internal.base.PendingSyncUpdate;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.server.network.ServerPlayerEntity;
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * Reads the content of a component sync packet on the network thread.
+ *
+ * <p>Decoders are called before the component receiving the update is even looked up, and must therefore
+ * not access the component or any other game state. They should read everything written by
+ * {@link AutoSyncedComponent#writeSyncPacket(PacketByteBuf, ServerPlayerEntity)} into an immutable object,
+ * which then gets passed to {@link DecodedSyncComponent#applySyncUpdate(Object)} on the game thread.
+ *
+ * @param <U> the type of update objects produced by this decoder
+ * @see DecodedSyncComponent
+ * @since 5.2.0
+ */
+@ApiStatus.Experimental
+@FunctionalInterface
+public interface SyncPacketDecoder<U> {
+    /**
+     * Registers a decoder for sync packets of the given component type.
+     *
+     * <p>This method should be called during client initialization, and can only be called once per key.
+     *
+     * @param key     the key of a component type
+     * @param decoder the decoder to use on every sync packet for that component type
+     */
+    static <U> void register(ComponentKey<? extends DecodedSyncComponent<U>> key, SyncPacketDecoder<? extends U> decoder) {
+        PendingSyncUpdate.registerDecoder(key, decoder);
+    }
+
+    /**
+     * Reads a sync packet into an update object.
+     *
+     * @param buf the content of the sync packet, starting after the component key
+     * @return the decoded update, which should not be mutated afterwards
+     */
+    U decodeSyncPacket(PacketByteBuf buf);
+}
@@ -32,7 +32,10 @@ import net.minecraft.nbt.NbtCompound;
 import net.minecraft.nbt.NbtList;
 import net.minecraft.util.Identifier;
 
+import javax.annotation.Nullable;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 
 /**
  * Implementing class for {@link ComponentContainer}.
@@ -44,11 +47,15 @@ public abstract class AbstractComponentContainer implements ComponentContainer {
     @Override
     public void copyFrom(ComponentContainer other) {
         for (ComponentKey<?> key : this.keys()) {
-            Component theirs = key.getInternal(other);
+            // lazy components that were never created in the source container have nothing to copy
+            Component theirs = other instanceof SlottedComponentContainer slotted ? slotted.getCreatedBySlot(key.getSlot()) : key.getInternal(other);
+
+            if (theirs == null) continue;
+
             Component ours = key.getInternal(this);
             assert ours != null;
 
-            if (theirs != null && !ours.equals(theirs)) {
+            if (!ours.equals(theirs)) {
                 if (ours instanceof CopyableComponent) {
                     @SuppressWarnings("unchecked") CopyableComponent<Component> copyable = (CopyableComponent<Component>) ours;
                     copyable.copyFrom(theirs);
@@ -69,37 +76,74 @@ public abstract class AbstractComponentContainer implements ComponentContainer {
      * Then it iterates over the list's tags, casts them to {@code NbtCompound},
      * and passes them to the associated component's {@code fromTag} method.
      * If this container lacks a corresponding component for a serialized component
-     * type, the component tag is skipped.
+     * type, the component tag is skipped, and its id is reported in a single batch
+     * of deserialization warnings.
      */
     @Override
     public void fromTag(NbtCompound tag) {
         if(tag.contains(NBT_KEY, NbtType.LIST)) {
-            NbtList componentList = tag.getList(NBT_KEY, NbtType.COMPOUND);
-            for (int i = 0; i < componentList.size(); i++) {
-                NbtCompound nbt = componentList.getCompound(i);
-                ComponentKey<?> type = ComponentRegistry.get(new Identifier(nbt.getString("componentId")));
-                if (type != null) {
-                    Component component = type.getInternal(this);
-                    if (component != null) {
-                        component.readFromNbt(nbt);
-                    }
-                }
-            }
-        } else if (tag.contains("cardinal_components", NbtType.COMPOUND)) {
+            this.readLegacyComponents(tag.getList(NBT_KEY, NbtType.COMPOUND));
+        } else if (tag.contains(NBT_KEY, NbtType.COMPOUND)) {
             NbtCompound componentMap = tag.getCompound(NBT_KEY);
+            this.readComponents(componentMap);
+            ComponentsInternals.logDeserializationWarnings(componentMap.getKeys());
+        }
+    }
 
-            for (ComponentKey<?> key : this.keys()) {
-                String keyId = key.getId().toString();
+    private void readLegacyComponents(NbtList componentList) {
+        List<String> unknownIds = null;
 
-                if (componentMap.contains(keyId, NbtType.COMPOUND)) {
-                    Component component = key.getInternal(this);
-                    assert component != null;
-                    component.readFromNbt(componentMap.getCompound(keyId));
-                    componentMap.remove(keyId);
-                }
+        for (int i = 0; i < componentList.size(); i++) {
+            NbtCompound nbt = componentList.getCompound(i);
+            String componentId = nbt.getString("componentId");
+            Component component = this.getComponentByNbtKey(componentId);
+
+            if (component != null) {
+                component.readFromNbt(nbt);
+            } else {
+                if (unknownIds == null) unknownIds = new ArrayList<>();
+                unknownIds.add(componentId);
             }
+        }
 
-            ComponentsInternals.logDeserializationWarnings(componentMap.getKeys());
+        if (unknownIds != null) {
+            ComponentsInternals.logDeserializationWarnings(unknownIds);
+        }
+    }
+
+    /**
+     * Resolves a component of this container from its serialized id.
+     *
+     * <p>Generated containers override this method with a switch on the id's hash code,
+     * which avoids parsing the id and looking it up in the registry.
+     *
+     * @param nbtKey the string form of a component key's id
+     * @return the component associated with that id in this container, or {@code null} if there is none
+     */
+    protected @Nullable Component getComponentByNbtKey(String nbtKey) {
+        Identifier id = Identifier.tryParse(nbtKey);
+        ComponentKey<?> key = id == null ? null : ComponentRegistry.get(id);
+        return key == null ? null : key.getInternal(this);
+    }
+
+    /**
+     * Reads every component of this container from a serialized component map.
+     *
+     * <p>Generated containers override this method with an unrolled version that reads
+     * each component directly, using precomputed NBT keys.
+     *
+     * @param componentMap a map of component ids to serialized component data. Entries for components
+     *                     of this container must be removed as they get read.
+     */
+    protected void readComponents(NbtCompound componentMap) {
+        for (ComponentKey<?> key : this.keys()) {
+            NbtCompound componentTag = takeComponentTag(componentMap, key.getId().toString());
+
+            if (componentTag != null) {
+                Component component = key.getInternal(this);
+                assert component != null;
+                component.readFromNbt(componentTag);
+            }
         }
     }
 
@@ -112,31 +156,67 @@ public abstract class AbstractComponentContainer implements ComponentContainer {
      * {@link Component#writeToNbt(NbtCompound)} method. Every such serialized component is appended
      * to a {@code NbtCompound}, using the component type's identifier as the key.
      * The serialized map is finally appended to the passed in tag using the "cardinal_components" key.
+     * Generated containers override this method with an unrolled equivalent.
      */
     @Override
     public NbtCompound toTag(NbtCompound tag) {
         if(this.hasComponents()) {
             NbtCompound componentMap = null;
-            NbtCompound componentTag = new NbtCompound();
+            NbtCompound componentTag = null;
 
             for (ComponentKey<?> type : this.keys()) {
+                if (componentTag == null) componentTag = new NbtCompound();
                 Component component = type.getFromContainer(this);
                 component.writeToNbt(componentTag);
 
-                if (!componentTag.isEmpty()) {
-                    if (componentMap == null) {
-                        componentMap = new NbtCompound();
-                        tag.put(NBT_KEY, componentMap);
-                    }
-
-                    componentMap.put(type.getId().toString(), componentTag);
-                    componentTag = new NbtCompound();   // recycle tag objects if possible
+                if (!isEmptyTag(componentTag)) {
+                    componentMap = putComponentTag(tag, componentMap, type.getId().toString(), componentTag);
+                    componentTag = null;    // only allocate a new tag if the current one got used
                 }
             }
         }
         return tag;
     }
 
+    /* helpers invoked by generated containers */
+
+    protected static boolean isEmptyTag(NbtCompound tag) {
+        return tag.isEmpty();
+    }
+
+    /**
+     * Appends a serialized component to a component map, creating the map if needed.
+     *
+     * @param tag          the tag passed to {@link #toTag(NbtCompound)}
+     * @param componentMap the component map previously returned by this method, or {@code null}
+     * @param nbtKey       the string form of the component's id
+     * @param componentTag the non-empty serialized component
+     * @return the component map, which is attached to {@code tag}
+     */
+    protected static NbtCompound putComponentTag(NbtCompound tag, @Nullable NbtCompound componentMap, String nbtKey, NbtCompound componentTag) {
+        if (componentMap == null) {
+            componentMap = new NbtCompound();
+            tag.put(NBT_KEY, componentMap);
+        }
+
+        componentMap.put(nbtKey, componentTag);
+        return componentMap;
+    }
+
+    /**
+     * Removes and returns the serialized form of a component from a component map.
+     *
+     * @return the serialized component, or {@code null} if {@code componentMap} has no compound mapped to {@code nbtKey}
+     */
+    protected static @Nullable NbtCompound takeComponentTag(NbtCompound componentMap, String nbtKey) {
+        if (componentMap.contains(nbtKey, NbtType.COMPOUND)) {
+            NbtCompound componentTag = componentMap.getCompound(nbtKey);
+            componentMap.remove(nbtKey);
+            return componentTag;
+        }
+        return null;
+    }
+
     @Override
     public String toString() {
         Iterator<ComponentKey<?>> i = this.keys().iterator();
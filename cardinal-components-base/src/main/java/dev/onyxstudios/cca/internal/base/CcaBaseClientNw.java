@@ -0,0 +1,116 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2023 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.internal.base;
+
+import dev.onyxstudios.cca.api.v3.component.ComponentKey;
+import net.fabricmc.fabric.api.client.networking.v1.ClientLoginConnectionEvents;
+import net.fabricmc.fabric.api.client.networking.v1.ClientLoginNetworking;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.client.world.ClientWorld;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkSectionPos;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+public final class CcaBaseClientNw {
+    public static void initClient() {
+        if (FabricLoader.getInstance().isModLoaded("fabric-networking-api-v1")) {
+            // servers without the handshake, including older versions of this library, keep sending bare identifiers
+            ClientLoginConnectionEvents.INIT.register((handler, client) -> ComponentNetworkIds.resetClientKeys());
+            ClientLoginNetworking.registerGlobalReceiver(ComponentNetworkIds.HANDSHAKE_CHANNEL, (client, handler, buf, listenerAdder) -> {
+                try {
+                    return CompletableFuture.completedFuture(ComponentNetworkIds.readKeyTable(buf));
+                } catch (Exception e) {
+                    ComponentsInternals.LOGGER.error("Error while reading component key ids from network", e);
+                    throw e;
+                }
+            });
+            ClientPlayNetworking.registerGlobalReceiver(ChunkComponentPayload.PACKET_ID, (client, handler, buffer, res) -> {
+                List<ChunkComponentUpdate> updates = new ArrayList<>();
+                boolean scheduled = false;
+
+                try {
+                    int chunkX = buffer.readInt();
+                    int chunkZ = buffer.readInt();
+
+                    while (buffer.isReadable()) {
+                        byte kind = buffer.readByte();
+                        int localXZ = 0;
+                        int height = 0;
+
+                        if (kind == ChunkComponentPayload.BLOCK_ENTITY) {
+                            localXZ = buffer.readUnsignedByte();
+                            height = buffer.readVarInt();
+                        }
+
+                        ComponentKey<?> componentType = ComponentNetworkIds.readKey(buffer);
+                        PacketByteBuf data = new PacketByteBuf(buffer.readSlice(buffer.readInt()));
+
+                        if (componentType != null) {
+                            updates.add(new ChunkComponentUpdate(kind, localXZ, height, componentType, PendingSyncUpdate.read(componentType, data)));
+                        }
+                    }
+
+                    client.execute(() -> {
+                        try {
+                            ClientWorld world = Objects.requireNonNull(client.world);
+
+                            for (ChunkComponentUpdate update : updates) {
+                                Object provider = update.kind() == ChunkComponentPayload.CHUNK
+                                    ? world.getChunk(chunkX, chunkZ)
+                                    : world.getBlockEntity(new BlockPos(
+                                        ChunkSectionPos.getBlockCoord(chunkX) + (update.localXZ() >> 4),
+                                        world.getBottomY() + update.height(),
+                                        ChunkSectionPos.getBlockCoord(chunkZ) + (update.localXZ() & 15)
+                                    ));
+                                update.key().maybeGet(provider).ifPresent(update.update()::apply);
+                            }
+                        } finally {
+                            for (ChunkComponentUpdate update : updates) {
+                                update.update().release();
+                            }
+                        }
+                    });
+                    scheduled = true;
+                } catch (Exception e) {
+                    ComponentsInternals.LOGGER.error("Error while reading chunk components from network", e);
+                    throw e;
+                } finally {
+                    // updates never handed over to the game thread still hold retained slices of the packet
+                    if (!scheduled) {
+                        for (ChunkComponentUpdate update : updates) {
+                            update.update().release();
+                        }
+                    }
+                }
+            });
+        }
+    }
+
+    private record ChunkComponentUpdate(byte kind, int localXZ, int height, ComponentKey<?> key, PendingSyncUpdate update) { }
+}
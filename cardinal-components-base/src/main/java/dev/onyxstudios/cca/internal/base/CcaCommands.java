@@ -0,0 +1,157 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2023 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.internal.base;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.context.CommandContext;
+import net.fabricmc.fabric.api.command.v2.CommandRegistrationCallback;
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.server.command.CommandManager;
+import net.minecraft.server.command.ServerCommandSource;
+import net.minecraft.text.Text;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registers the {@code /cca} debug command, when the Fabric command API is available.
+ */
+public final class CcaCommands {
+    private static final int MAX_REPORTED_ENTRIES = 10;
+
+    private CcaCommands() { throw new AssertionError(); }
+
+    public static void init() {
+        if (FabricLoader.getInstance().isModLoaded("fabric-command-api-v2")) {
+            CommandRegistrationCallback.EVENT.register((dispatcher, registryAccess, environment) -> register(dispatcher));
+        }
+    }
+
+    static void register(CommandDispatcher<ServerCommandSource> dispatcher) {
+        dispatcher.register(CommandManager.literal("cca")
+            .requires(source -> source.hasPermissionLevel(2))
+            .then(CommandManager.literal("profile")
+                .executes(CcaCommands::reportProfile)
+                .then(CommandManager.literal("start")
+                    .executes(context -> {
+                        ComponentTickProfiler.start();
+                        // Dedicated servers cannot handle translations
+                        context.getSource().sendFeedback(Text.literal("Started profiling component ticks"), true);
+                        return 1;
+                    })
+                )
+                .then(CommandManager.literal("stop")
+                    .executes(context -> {
+                        ComponentTickProfiler.stop();
+                        context.getSource().sendFeedback(Text.literal("Stopped profiling component ticks"), true);
+                        return reportProfile(context);
+                    })
+                )
+            )
+            .then(CommandManager.literal("serialization")
+                .executes(CcaCommands::reportSerialization)
+                .then(CommandManager.literal("start")
+                    .executes(context -> {
+                        ComponentSerializationProfiler.start();
+                        context.getSource().sendFeedback(Text.literal("Started profiling component serialization"), true);
+                        return 1;
+                    })
+                )
+                .then(CommandManager.literal("stop")
+                    .executes(context -> {
+                        ComponentSerializationProfiler.stop();
+                        context.getSource().sendFeedback(Text.literal("Stopped profiling component serialization"), true);
+                        return reportSerialization(context);
+                    })
+                )
+            )
+        );
+    }
+
+    private static int reportProfile(CommandContext<ServerCommandSource> context) {
+        ServerCommandSource source = context.getSource();
+        List<ComponentTickProfiler.Counter> results = ComponentTickProfiler.getResults();
+
+        if (results.isEmpty()) {
+            source.sendFeedback(Text.literal(ComponentTickProfiler.isEnabled()
+                ? "No component has been ticked yet"
+                : "No component tick was recorded, use /cca profile start"), false);
+            return 0;
+        }
+
+        source.sendFeedback(Text.literal("Most expensive component ticks over the last %d s:".formatted(
+            TimeUnit.NANOSECONDS.toSeconds(ComponentTickProfiler.getElapsedNanos())
+        )), false);
+
+        for (ComponentTickProfiler.Counter counter : results.subList(0, Math.min(results.size(), MAX_REPORTED_ENTRIES))) {
+            source.sendFeedback(Text.literal("- %s on %s (%s): %d ticks, %.2f ms total, %.2f µs per tick".formatted(
+                counter.getKey().getId(),
+                counter.getProvider(),
+                counter.isClient() ? "client" : "server",
+                counter.getInvocations(),
+                counter.getTotalNanos() / 1_000_000.0,
+                counter.getTotalNanos() / 1_000.0 / counter.getInvocations()
+            )), false);
+        }
+
+        if (results.size() > MAX_REPORTED_ENTRIES) {
+            source.sendFeedback(Text.literal("(%d more entries)".formatted(results.size() - MAX_REPORTED_ENTRIES)), false);
+        }
+
+        return results.size();
+    }
+
+    private static int reportSerialization(CommandContext<ServerCommandSource> context) {
+        ServerCommandSource source = context.getSource();
+        List<ComponentSerializationProfiler.Counter> results = ComponentSerializationProfiler.getResults();
+
+        if (results.isEmpty()) {
+            source.sendFeedback(Text.literal(ComponentSerializationProfiler.isEnabled()
+                ? "No component has been saved or loaded yet"
+                : "No component serialization was recorded, use /cca serialization start"), false);
+            return 0;
+        }
+
+        source.sendFeedback(Text.literal("Biggest serialized components over the last %d s:".formatted(
+            TimeUnit.NANOSECONDS.toSeconds(ComponentSerializationProfiler.getElapsedNanos())
+        )), false);
+
+        for (ComponentSerializationProfiler.Counter counter : results.subList(0, Math.min(results.size(), MAX_REPORTED_ENTRIES))) {
+            source.sendFeedback(Text.literal("- %s on %s: %d bytes in %d writes (%.2f ms), %d reads (%.2f ms)".formatted(
+                counter.getKey().getId(),
+                counter.getProvider(),
+                counter.getWrittenBytes(),
+                counter.getWrites(),
+                counter.getWriteNanos() / 1_000_000.0,
+                counter.getReads(),
+                counter.getReadNanos() / 1_000_000.0
+            )), false);
+        }
+
+        if (results.size() > MAX_REPORTED_ENTRIES) {
+            source.sendFeedback(Text.literal("(%d more entries)".formatted(results.size() - MAX_REPORTED_ENTRIES)), false);
+        }
+
+        return results.size();
+    }
+}
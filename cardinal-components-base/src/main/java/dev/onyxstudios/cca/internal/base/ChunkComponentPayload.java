@@ -0,0 +1,198 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2023 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.internal.base;
+
+import dev.onyxstudios.cca.api.v3.component.ComponentKey;
+import dev.onyxstudios.cca.api.v3.component.ComponentProvider;
+import dev.onyxstudios.cca.api.v3.component.sync.ComponentPacketWriter;
+import net.fabricmc.fabric.api.event.Event;
+import net.fabricmc.fabric.api.event.EventFactory;
+import net.fabricmc.fabric.api.networking.v1.PacketByteBufs;
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.network.packet.s2c.play.CustomPayloadS2CPacket;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.chunk.WorldChunk;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A single packet carrying the initial state of every synced component in a chunk, sent right after the chunk's data.
+ *
+ * <p>The packet begins with the chunk's x and z coordinates (as ints), followed by one entry per component.
+ * Each entry starts with the kind of provider (as a byte), then for block entities their position within the chunk
+ * (the local x and z packed in a byte, and the height above the world's bottom as a varint), the component's key
+ * (as written by {@link ComponentNetworkIds#writeKey}), the length of the component's data (as an int),
+ * and finally the data itself.
+ *
+ * <p>Modules add their components through {@link #COLLECT}. Entries that would push a payload past
+ * the 1 MiB limit of custom payload packets start a new payload for the same chunk.
+ */
+public final class ChunkComponentPayload {
+    public static final Identifier PACKET_ID = new Identifier("cardinal-components", "chunk_components");
+    public static final byte CHUNK = 0;
+    public static final byte BLOCK_ENTITY = 1;
+
+    public static final Event<Collector> COLLECT = EventFactory.createArrayBacked(Collector.class, payload -> {}, listeners -> payload -> {
+        for (Collector listener : listeners) {
+            listener.collect(payload);
+        }
+    });
+
+    private static final boolean ENABLED = FabricLoader.getInstance().isModLoaded("fabric-networking-api-v1");
+    /**
+     * The largest payload accepted by {@link CustomPayloadS2CPacket}
+     */
+    private static final int MAX_PAYLOAD_SIZE = 0x100000;
+    private static final int HEADER_SIZE = 2 * Integer.BYTES;
+
+    private final ServerPlayerEntity player;
+    private final WorldChunk chunk;
+    private @Nullable PacketByteBuf buf;
+
+    private ChunkComponentPayload(ServerPlayerEntity player, WorldChunk chunk) {
+        this.player = player;
+        this.chunk = chunk;
+    }
+
+    /**
+     * Sends the components of {@code chunk} and of its block entities to {@code player}, if any of them is synced.
+     *
+     * <p>Components that do not fit in a single payload get split across several packets.
+     */
+    public static void send(ServerPlayerEntity player, WorldChunk chunk) {
+        if (!ENABLED) return;
+
+        ChunkComponentPayload payload = new ChunkComponentPayload(player, chunk);
+        COLLECT.invoker().collect(payload);
+        payload.flush();
+    }
+
+    public ServerPlayerEntity getPlayer() {
+        return this.player;
+    }
+
+    public WorldChunk getChunk() {
+        return this.chunk;
+    }
+
+    public void writeChunkComponents() {
+        ComponentProvider provider = (ComponentProvider) this.chunk;
+
+        for (ComponentKey<?> key : provider.getComponentContainer().keys()) {
+            ComponentPacketWriter writer = key.getFullSyncWriter(this.player, provider);
+
+            if (writer != null) {
+                PacketByteBuf buf = this.getBuffer();
+                int entryStart = buf.writerIndex();
+                buf.writeByte(CHUNK);
+                this.writeComponent(entryStart, provider, key, writer);
+            }
+        }
+    }
+
+    public void writeBlockEntityComponents(BlockEntity blockEntity) {
+        ComponentProvider provider = (ComponentProvider) blockEntity;
+
+        for (ComponentKey<?> key : provider.getComponentContainer().keys()) {
+            ComponentPacketWriter writer = key.getFullSyncWriter(this.player, provider);
+
+            if (writer != null) {
+                BlockPos pos = blockEntity.getPos();
+                PacketByteBuf buf = this.getBuffer();
+                int entryStart = buf.writerIndex();
+                buf.writeByte(BLOCK_ENTITY);
+                buf.writeByte((pos.getX() & 15) << 4 | (pos.getZ() & 15));
+                buf.writeVarInt(pos.getY() - this.chunk.getBottomY());
+                this.writeComponent(entryStart, provider, key, writer);
+            }
+        }
+    }
+
+    /**
+     * Writes the rest of an entry, whose header starts at {@code entryStart}, and moves it to a new payload
+     * if it made the current one too large.
+     */
+    private void writeComponent(int entryStart, ComponentProvider provider, ComponentKey<?> key, ComponentPacketWriter writer) {
+        PacketByteBuf buf = this.getBuffer();
+        ComponentNetworkIds.writeKey(buf, key, this.player);
+        int lengthIndex = buf.writerIndex();
+        buf.writeInt(0);
+        writer.writeSyncPacket(buf, this.player);
+        buf.setInt(lengthIndex, buf.writerIndex() - lengthIndex - Integer.BYTES);
+
+        if (buf.writerIndex() > MAX_PAYLOAD_SIZE) {
+            int entrySize = buf.writerIndex() - entryStart;
+
+            if (HEADER_SIZE + entrySize > MAX_PAYLOAD_SIZE) {
+                // too large to share a payload with anything, the component gets its own packet like before
+                buf.writerIndex(entryStart);
+                key.syncWith(this.player, provider);
+            } else {
+                PacketByteBuf next = this.createBuffer();
+                next.writeBytes(buf, entryStart, entrySize);
+                buf.writerIndex(entryStart);
+                this.flush();
+                this.buf = next;
+            }
+        }
+    }
+
+    /**
+     * Sends the current payload if it holds any entry, and starts over with an empty one.
+     */
+    private void flush() {
+        PacketByteBuf buf = this.buf;
+
+        if (buf != null) {
+            this.buf = null;
+
+            if (buf.writerIndex() > HEADER_SIZE) {
+                this.player.networkHandler.sendPacket(new CustomPayloadS2CPacket(PACKET_ID, buf));
+            } else {
+                buf.release();
+            }
+        }
+    }
+
+    private PacketByteBuf getBuffer() {
+        if (this.buf == null) {
+            this.buf = this.createBuffer();
+        }
+        return this.buf;
+    }
+
+    private PacketByteBuf createBuffer() {
+        PacketByteBuf buf = PacketByteBufs.create();
+        buf.writeInt(this.chunk.getPos().x);
+        buf.writeInt(this.chunk.getPos().z);
+        return buf;
+    }
+
+    @FunctionalInterface
+    public interface Collector {
+        void collect(ChunkComponentPayload payload);
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2023 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.internal.base;
+
+import com.google.common.collect.Iterators;
+import dev.onyxstudios.cca.api.v3.component.ComponentKey;
+
+import java.util.AbstractSet;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Iterator;
+
+/**
+ * An immutable set of {@link ComponentKey}s, as returned by {@link dev.onyxstudios.cca.api.v3.component.ComponentContainer#keys()}.
+ *
+ * <p>Membership checks are a single bit lookup using the key's {@linkplain ComponentKey#getSlot() slot},
+ * and iteration walks a backing array in the order the keys were passed in.
+ */
+public final class ComponentKeySet extends AbstractSet<ComponentKey<?>> {
+    private final ComponentKey<?>[] keys;
+    private final BitSet slots;
+
+    public ComponentKeySet(Collection<? extends ComponentKey<?>> keys) {
+        this.keys = keys.toArray(new ComponentKey<?>[0]);
+        this.slots = new BitSet();
+
+        for (ComponentKey<?> key : this.keys) {
+            this.slots.set(key.getSlot());
+        }
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof ComponentKey<?> key && this.slots.get(key.getSlot());
+    }
+
+    @Override
+    public Iterator<ComponentKey<?>> iterator() {
+        return Iterators.forArray(this.keys);
+    }
+
+    @Override
+    public int size() {
+        return this.keys.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.keys.length == 0;
+    }
+}
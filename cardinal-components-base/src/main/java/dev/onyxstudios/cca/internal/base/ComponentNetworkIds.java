@@ -0,0 +1,213 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2023 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.internal.base;
+
+import dev.onyxstudios.cca.api.v3.component.ComponentKey;
+import dev.onyxstudios.cca.api.v3.component.ComponentRegistry;
+import dev.onyxstudios.cca.internal.base.asm.CcaBootstrap;
+import dev.onyxstudios.cca.mixin.base.common.ServerLoginNetworkHandlerAccessor;
+import dev.onyxstudios.cca.mixin.base.common.ServerPlayNetworkHandlerAccessor;
+import io.netty.handler.codec.DecoderException;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import net.fabricmc.fabric.api.networking.v1.PacketByteBufs;
+import net.fabricmc.fabric.api.networking.v1.ServerLoginConnectionEvents;
+import net.fabricmc.fabric.api.networking.v1.ServerLoginNetworking;
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.Identifier;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Compact network ids for component keys, negotiated during login.
+ *
+ * <p>The server sends the {@linkplain ComponentKey#getSlot() slot} and id of every registered key through
+ * a login query, and the client answers with the slots it recognizes. Sync packets sent to that client then
+ * refer to those keys with a varint, or with a varint {@code 0} followed by the full identifier for keys it does not know.
+ * Clients that did not answer the query keep receiving bare identifiers, exactly as before the handshake existed.
+ */
+public final class ComponentNetworkIds {
+    /**
+     * Login query channel used to exchange the component key table.
+     */
+    public static final Identifier HANDSHAKE_CHANNEL = new Identifier("cardinal-components", "key_ids");
+
+    /**
+     * Keys known to the client, indexed by the server's slots for the current connection,
+     * or {@code null} if the server did not send its key table
+     */
+    private static volatile @Nullable Int2ObjectMap<ComponentKey<?>> clientKeys;
+
+    private ComponentNetworkIds() { throw new AssertionError(); }
+
+    public static void init() {
+        if (FabricLoader.getInstance().isModLoaded("fabric-networking-api-v1")) {
+            ServerLoginConnectionEvents.QUERY_START.register((handler, server, sender, synchronizer) -> sender.sendPacket(HANDSHAKE_CHANNEL, writeKeyTable()));
+            ServerLoginNetworking.registerGlobalReceiver(HANDSHAKE_CHANNEL, (server, handler, understood, buf, synchronizer, responseSender) -> {
+                // vanilla and outdated clients just keep receiving identifiers
+                if (understood) {
+                    BitSet knownSlots = readKnownSlots(buf);
+                    ((MappedComponentConnection) ((ServerLoginNetworkHandlerAccessor) handler).cca$getConnection()).cca$setMappedKeySlots(knownSlots);
+                }
+            });
+        }
+    }
+
+    private static PacketByteBuf writeKeyTable() {
+        List<ComponentKey<?>> keys = ComponentRegistry.stream().toList();
+        PacketByteBuf buf = PacketByteBufs.create();
+        buf.writeVarInt(keys.size());
+
+        for (ComponentKey<?> key : keys) {
+            buf.writeVarInt(key.getSlot());
+            buf.writeIdentifier(key.getId());
+        }
+
+        return buf;
+    }
+
+    /**
+     * Reads the slots known by the client, refusing bitsets larger than the slot table
+     */
+    private static BitSet readKnownSlots(PacketByteBuf buf) {
+        int maxWords = (CcaBootstrap.INSTANCE.getSlotCount() + Long.SIZE - 1) / Long.SIZE;
+        int words = buf.readVarInt();
+
+        if (words < 0 || words > maxWords) {
+            throw new DecoderException("Component key slot set is too large: " + words + " words, expected at most " + maxWords);
+        }
+
+        long[] bits = new long[words];
+
+        for (int i = 0; i < words; i++) {
+            bits[i] = buf.readLong();
+        }
+
+        return BitSet.valueOf(bits);
+    }
+
+    /**
+     * Forgets the key table of the previous server, as the next one may not send any.
+     */
+    static void resetClientKeys() {
+        clientKeys = null;
+    }
+
+    /**
+     * @return {@code true} if the server this client is connected to sent its key table,
+     * and therefore writes compact ids
+     */
+    public static boolean hasServerMapping() {
+        return clientKeys != null;
+    }
+
+    /**
+     * Reads the key table sent by the server, and writes the answer listing the slots this client knows.
+     */
+    static PacketByteBuf readKeyTable(PacketByteBuf buf) {
+        int size = buf.readVarInt();
+        Int2ObjectMap<ComponentKey<?>> keys = new Int2ObjectOpenHashMap<>(size);
+        BitSet knownSlots = new BitSet();
+
+        for (int i = 0; i < size; i++) {
+            int slot = buf.readVarInt();
+            ComponentKey<?> key = ComponentRegistry.get(buf.readIdentifier());
+
+            if (key != null) {
+                keys.put(slot, key);
+                knownSlots.set(slot);
+            }
+        }
+
+        clientKeys = keys;
+        PacketByteBuf response = PacketByteBufs.create();
+        response.writeBitSet(knownSlots);
+        return response;
+    }
+
+    /**
+     * @return {@code true} if {@code recipient} completed the handshake, and can therefore be sent
+     * other compact registry ids
+     */
+    public static boolean hasMapping(ServerPlayerEntity recipient) {
+        return getMappedKeySlots(recipient) != null;
+    }
+
+    /**
+     * Writes a reference to {@code key}, which can be read back with {@link #readKey(PacketByteBuf)}.
+     *
+     * <p>If {@code recipient} completed the handshake, the key is written as its slot plus one if the client knows it,
+     * or as {@code 0} followed by its id. Otherwise, only the id is written.
+     */
+    public static void writeKey(PacketByteBuf buf, ComponentKey<?> key, ServerPlayerEntity recipient) {
+        BitSet mappedSlots = getMappedKeySlots(recipient);
+
+        if (mappedSlots == null) {
+            buf.writeIdentifier(key.getId());
+        } else if (mappedSlots.get(key.getSlot())) {
+            buf.writeVarInt(key.getSlot() + 1);
+        } else {
+            buf.writeVarInt(0);
+            buf.writeIdentifier(key.getId());
+        }
+    }
+
+    /**
+     * @return the key written by {@link #writeKey(PacketByteBuf, ComponentKey, ServerPlayerEntity)},
+     * or {@code null} if it is not registered on this side
+     */
+    public static @Nullable ComponentKey<?> readKey(PacketByteBuf buf) {
+        Int2ObjectMap<ComponentKey<?>> keys = clientKeys;
+
+        if (keys == null) {
+            return ComponentRegistry.get(buf.readIdentifier());
+        }
+
+        int networkId = buf.readVarInt();
+
+        if (networkId == 0) {
+            return ComponentRegistry.get(buf.readIdentifier());
+        }
+
+        return keys.get(networkId - 1);
+    }
+
+    private static @Nullable BitSet getMappedKeySlots(ServerPlayerEntity recipient) {
+        // fake players may not have a network handler
+        if (recipient.networkHandler == null) return null;
+        return ((MappedComponentConnection) ((ServerPlayNetworkHandlerAccessor) recipient.networkHandler).cca$getConnection()).cca$getMappedKeySlots();
+    }
+
+    /**
+     * Implemented on {@link net.minecraft.network.ClientConnection} to remember the outcome of the handshake.
+     */
+    public interface MappedComponentConnection {
+        @Nullable BitSet cca$getMappedKeySlots();
+
+        void cca$setMappedKeySlots(BitSet slots);
+    }
+}
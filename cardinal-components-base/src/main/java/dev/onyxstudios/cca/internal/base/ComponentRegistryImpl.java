@@ -32,16 +32,26 @@ import net.minecraft.util.Identifier;
 
 import javax.annotation.Nullable;
 import java.lang.reflect.InvocationTargetException;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
+import java.util.Arrays;
 import java.util.stream.Stream;
 
 public final class ComponentRegistryImpl implements ComponentRegistryV3 {
 
+    private static final ComponentKey<?>[] NO_KEYS = new ComponentKey<?>[0];
+
     public static final ComponentRegistryImpl INSTANCE = new ComponentRegistryImpl();
 
-    private final Map<Identifier, ComponentKey<?>> keys = new HashMap<>();
+    /**
+     * Registered keys indexed by {@linkplain ComponentKey#getSlot() slot}, sized once every static id is known.
+     *
+     * <p>This array and {@link #registeredKeys} are only replaced while holding the lock, and never modified
+     * once published, so that lookups and iteration need neither locking nor copying.
+     */
+    private volatile ComponentKey<?>[] keysBySlot = NO_KEYS;
+    /**
+     * Registered keys in registration order.
+     */
+    private volatile ComponentKey<?>[] registeredKeys = NO_KEYS;
 
     @Override
     public synchronized <T extends Component> ComponentKey<T> getOrCreate(Identifier componentId, Class<T> componentClass) {
@@ -63,11 +73,22 @@ public final class ComponentRegistryImpl implements ComponentRegistryV3 {
             }
 
             ComponentKey<T> registered = this.instantiateStaticType(generated, componentId, componentClass);
-            this.keys.put(componentId, registered);
+            this.publish(registered);
             return registered;
         }
     }
 
+    private void publish(ComponentKey<?> key) {
+        ComponentKey<?>[] bySlot = this.keysBySlot.length == 0
+            ? new ComponentKey<?>[CcaBootstrap.INSTANCE.getSlotCount()]
+            : this.keysBySlot.clone();
+        bySlot[key.getSlot()] = key;
+        ComponentKey<?>[] registered = Arrays.copyOf(this.registeredKeys, this.registeredKeys.length + 1);
+        registered[registered.length - 1] = key;
+        this.keysBySlot = bySlot;
+        this.registeredKeys = registered;
+    }
+
     private <T extends Component> ComponentKey<T> instantiateStaticType(Class<? extends ComponentKey<?>> generated, Identifier componentId, Class<T> componentClass) {
         try {
             @SuppressWarnings("unchecked") ComponentKey<T> ret = (ComponentKey<T>) generated.getConstructor(Identifier.class, Class.class).newInstance(componentId, componentClass);
@@ -80,16 +101,26 @@ public final class ComponentRegistryImpl implements ComponentRegistryV3 {
     @Nullable
     @Override
     public ComponentKey<?> get(Identifier id) {
-        return this.keys.get(id);
+        ComponentKey<?>[] keys = this.keysBySlot;
+        // no key has been created yet, no need to force the bootstrap
+        if (keys.length == 0) return null;
+        int slot = CcaBootstrap.INSTANCE.findSlot(id);
+        return slot < 0 ? null : keys[slot];
     }
 
     @Override
     public Stream<ComponentKey<?>> stream() {
-        return new HashSet<>(this.keys.values()).stream();
+        return Arrays.stream(this.registeredKeys);
     }
 
     @VisibleForTesting
-    void clear(Identifier id) {
-        this.keys.remove(id);
+    synchronized void clear(Identifier id) {
+        ComponentKey<?> key = this.get(id);
+        if (key != null) {
+            ComponentKey<?>[] bySlot = this.keysBySlot.clone();
+            bySlot[key.getSlot()] = null;
+            this.keysBySlot = bySlot;
+            this.registeredKeys = Arrays.stream(this.registeredKeys).filter(k -> k != key).toArray(ComponentKey<?>[]::new);
+        }
     }
 }
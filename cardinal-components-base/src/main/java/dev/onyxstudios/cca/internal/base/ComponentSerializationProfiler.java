@@ -0,0 +1,203 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2023 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.internal.base;
+
+import dev.onyxstudios.cca.api.v3.component.ComponentKey;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtIo;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Accumulates the time spent saving and loading each component type, for each kind of provider,
+ * along with the size of the saved data.
+ *
+ * <p>While the profiler's {@link ProfilerSwitch} is on, generated serialization methods delegate to instrumented
+ * implementations in {@link SlottedComponentContainer}, passing along the counters of their container class.
+ * Like tick counters, those are resolved once when the container class gets generated.
+ */
+public final class ComponentSerializationProfiler {
+    private static final ProfilerSwitch SWITCH = new ProfilerSwitch();
+    private static final Map<Counter, Counter> counters = new ConcurrentHashMap<>();
+
+    private ComponentSerializationProfiler() { throw new AssertionError(); }
+
+    /**
+     * Bootstrap method for the profiling checks in generated serialization methods.
+     */
+    @SuppressWarnings("unused") // called by generated bytecode
+    public static CallSite bootstrap(MethodHandles.Lookup lookup, String name, MethodType type) {
+        return SWITCH.getCallSite();
+    }
+
+    /**
+     * Gets the counter for the serialization of a component type on a kind of provider, creating it if necessary.
+     *
+     * @param key      the key of the serialized component
+     * @param provider a human-readable description of the provider, typically derived from its container class name
+     */
+    public static Counter getCounter(ComponentKey<?> key, String provider) {
+        Counter counter = new Counter(key, provider);
+        return counters.computeIfAbsent(counter, c -> c);
+    }
+
+    /**
+     * @return the size of the given tag once written to disk, before compression
+     */
+    public static int measure(NbtCompound tag) {
+        try {
+            DataOutputStream out = new DataOutputStream(OutputStream.nullOutputStream());
+            NbtIo.write(tag, out);
+            return out.size();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static boolean isEnabled() {
+        return SWITCH.isEnabled();
+    }
+
+    /**
+     * Resets every counter and starts recording component serialization.
+     */
+    public static synchronized void start() {
+        counters.values().forEach(Counter::reset);
+        SWITCH.start();
+    }
+
+    /**
+     * Stops recording component serialization, keeping the recorded data until the next {@link #start()}.
+     */
+    public static void stop() {
+        SWITCH.stop();
+    }
+
+    /**
+     * @return the time elapsed since profiling started, in nanoseconds
+     */
+    public static long getElapsedNanos() {
+        return SWITCH.getElapsedNanos();
+    }
+
+    /**
+     * @return every counter that recorded at least one read or write, biggest total output first
+     */
+    public static List<Counter> getResults() {
+        List<Counter> ret = new ArrayList<>();
+        for (Counter counter : counters.values()) {
+            if (counter.getWrites() > 0 || counter.getReads() > 0) ret.add(counter);
+        }
+        ret.sort(Comparator.comparingLong(Counter::getWrittenBytes).thenComparingLong(Counter::getWriteNanos).reversed());
+        return ret;
+    }
+
+    public static final class Counter {
+        private final ComponentKey<?> key;
+        private final String provider;
+        private final LongAdder writes = new LongAdder();
+        private final LongAdder writeNanos = new LongAdder();
+        private final LongAdder writtenBytes = new LongAdder();
+        private final LongAdder reads = new LongAdder();
+        private final LongAdder readNanos = new LongAdder();
+
+        Counter(ComponentKey<?> key, String provider) {
+            this.key = key;
+            this.provider = provider;
+        }
+
+        /**
+         * @param bytes the serialized size of the component, or {@code 0} if it wrote nothing
+         */
+        public void recordWrite(long nanos, int bytes) {
+            this.writes.increment();
+            this.writeNanos.add(nanos);
+            this.writtenBytes.add(bytes);
+        }
+
+        public void recordRead(long nanos) {
+            this.reads.increment();
+            this.readNanos.add(nanos);
+        }
+
+        void reset() {
+            this.writes.reset();
+            this.writeNanos.reset();
+            this.writtenBytes.reset();
+            this.reads.reset();
+            this.readNanos.reset();
+        }
+
+        public ComponentKey<?> getKey() {
+            return this.key;
+        }
+
+        public String getProvider() {
+            return this.provider;
+        }
+
+        public long getWrites() {
+            return this.writes.sum();
+        }
+
+        public long getWriteNanos() {
+            return this.writeNanos.sum();
+        }
+
+        public long getWrittenBytes() {
+            return this.writtenBytes.sum();
+        }
+
+        public long getReads() {
+            return this.reads.sum();
+        }
+
+        public long getReadNanos() {
+            return this.readNanos.sum();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Counter counter)) return false;
+            return this.key.equals(counter.key) && this.provider.equals(counter.provider);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * this.key.hashCode() + this.provider.hashCode();
+        }
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2023 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.internal.base;
+
+import dev.onyxstudios.cca.api.v3.component.Component;
+import dev.onyxstudios.cca.api.v3.component.ComponentKey;
+import dev.onyxstudios.cca.api.v3.component.ComponentProvider;
+import dev.onyxstudios.cca.api.v3.component.sync.AutoSyncedComponent;
+import dev.onyxstudios.cca.mixin.base.common.ServerPlayNetworkHandlerAccessor;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceLinkedOpenHashSet;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.entity.Entity;
+import net.minecraft.network.packet.s2c.play.CustomPayloadS2CPacket;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.chunk.Chunk;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Queues full component syncs for each player, and sends them within a per-tick byte budget.
+ *
+ * <p>Only used when the {@code sync-budget-per-player} config option is positive. At the end of every server tick,
+ * each player's queue is sent closest providers first, until the budget is spent. Nothing is sent to a player
+ * whose connection is not writable. A component queued several times for the same player is only sent once,
+ * with its state at the time of sending.
+ *
+ * <p>Only syncs whose packets carry the whole component state can be superseded this way. Syncs with custom writers,
+ * {@linkplain dev.onyxstudios.cca.api.v3.component.sync.DeltaSyncedComponent delta syncs} and initial syncs
+ * are always sent immediately.
+ */
+public final class ComponentSyncScheduler {
+    private static final Map<ServerPlayerEntity, Map<ComponentProvider, Set<ComponentKey<?>>>> queues = new Reference2ObjectOpenHashMap<>();
+
+    private ComponentSyncScheduler() { throw new AssertionError(); }
+
+    /**
+     * @return {@code true} if full syncs requested on the current thread should go through the scheduler
+     */
+    public static boolean shouldSchedule() {
+        return ComponentsInternals.getSyncBudgetPerPlayer() > 0 && PendingComponentSyncs.isServerThread();
+    }
+
+    /**
+     * Queues the component for every player that should currently receive it.
+     */
+    public static void schedule(ComponentProvider provider, ComponentKey<?> key, AutoSyncedComponent component) {
+        Enqueue enqueue = Enqueue.acquire(provider, key, component);
+
+        try {
+            provider.forEachSyncRecipient(enqueue);
+        } finally {
+            enqueue.release();
+        }
+    }
+
+    /**
+     * Sends queued syncs to each player, within the configured budget.
+     */
+    public static void flush() {
+        if (queues.isEmpty()) return;
+
+        int budget = ComponentsInternals.getSyncBudgetPerPlayer();
+        Iterator<Map.Entry<ServerPlayerEntity, Map<ComponentProvider, Set<ComponentKey<?>>>>> it = queues.entrySet().iterator();
+
+        while (it.hasNext()) {
+            Map.Entry<ServerPlayerEntity, Map<ComponentProvider, Set<ComponentKey<?>>>> entry = it.next();
+            ServerPlayerEntity player = entry.getKey();
+
+            // the player either left or got replaced by a respawned copy, which gets a full sync anyway
+            if (player.isDisconnected() || player.isRemoved() || player.networkHandler == null) {
+                it.remove();
+            } else if (isWritable(player)) {
+                flush(player, entry.getValue(), budget);
+
+                if (entry.getValue().isEmpty()) {
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    private static void flush(ServerPlayerEntity player, Map<ComponentProvider, Set<ComponentKey<?>>> queue, int budget) {
+        List<ComponentProvider> providers = new ArrayList<>(queue.keySet());
+        providers.sort(Comparator.comparingDouble(provider -> squaredDistance(player, provider)));
+        int remaining = budget;
+
+        for (ComponentProvider provider : providers) {
+            Set<ComponentKey<?>> keys = queue.get(provider);
+            Iterator<ComponentKey<?>> it = keys.iterator();
+
+            while (it.hasNext()) {
+                // the first packet always goes through, so that a single large component cannot stall the queue
+                if (remaining <= 0) return;
+
+                ComponentKey<?> key = it.next();
+                it.remove();
+
+                if (!isStale(provider)) {
+                    remaining -= send(player, provider, key);
+                }
+            }
+
+            queue.remove(provider);
+        }
+    }
+
+    private static int send(ServerPlayerEntity player, ComponentProvider provider, ComponentKey<?> key) {
+        Component component = key.getInternal(provider.getComponentContainer());
+
+        if (component instanceof AutoSyncedComponent synced && synced.shouldSyncWith(player)) {
+            CustomPayloadS2CPacket packet = provider.toComponentPacket(key, synced, player);
+
+            if (packet != null) {
+                int size = packet.getData().readableBytes();
+                player.networkHandler.sendPacket(packet);
+                return size;
+            }
+        }
+
+        return 0;
+    }
+
+    private static boolean isStale(ComponentProvider provider) {
+        if (provider instanceof Entity entity) return entity.isRemoved();
+        if (provider instanceof BlockEntity blockEntity) return blockEntity.isRemoved();
+        return false;
+    }
+
+    private static double squaredDistance(ServerPlayerEntity player, ComponentProvider provider) {
+        if (provider instanceof Entity entity) {
+            return entity == player ? 0 : player.squaredDistanceTo(entity);
+        } else if (provider instanceof BlockEntity blockEntity) {
+            return blockEntity.getPos().getSquaredDistance(player.getPos());
+        } else if (provider instanceof Chunk chunk) {
+            ChunkPos pos = chunk.getPos();
+            return player.squaredDistanceTo(pos.getCenterX(), player.getY(), pos.getCenterZ());
+        }
+        // worlds, levels and scoreboards are shared by every nearby player
+        return 0;
+    }
+
+    private static boolean isWritable(ServerPlayerEntity player) {
+        return ((ThrottledConnection) ((ServerPlayNetworkHandlerAccessor) player.networkHandler).cca$getConnection()).cca$isWritable();
+    }
+
+    /**
+     * Drops every queued sync, typically because the server is shutting down.
+     */
+    public static void clear() {
+        queues.clear();
+    }
+
+    /**
+     * Queues a component for each accepted recipient.
+     *
+     * <p>Scheduling only happens on the server thread, so a single instance gets reused.
+     * Nested schedules get their own instance.
+     */
+    private static final class Enqueue implements Consumer<ServerPlayerEntity> {
+        private static final Enqueue INSTANCE = new Enqueue();
+
+        private @Nullable ComponentProvider provider;
+        private @Nullable ComponentKey<?> key;
+        private @Nullable AutoSyncedComponent component;
+        private boolean inUse;
+
+        static Enqueue acquire(ComponentProvider provider, ComponentKey<?> key, AutoSyncedComponent component) {
+            Enqueue enqueue = INSTANCE.inUse ? new Enqueue() : INSTANCE;
+            enqueue.inUse = true;
+            enqueue.provider = provider;
+            enqueue.key = key;
+            enqueue.component = component;
+            return enqueue;
+        }
+
+        @Override
+        public void accept(ServerPlayerEntity player) {
+            assert this.provider != null && this.key != null && this.component != null;
+
+            if (this.component.shouldSyncWith(player)) {
+                queues.computeIfAbsent(player, p -> new Reference2ObjectLinkedOpenHashMap<>())
+                    .computeIfAbsent(this.provider, p -> new ReferenceLinkedOpenHashSet<>())
+                    .add(this.key);
+            }
+        }
+
+        void release() {
+            // do not keep the last scheduled provider alive
+            this.provider = null;
+            this.key = null;
+            this.component = null;
+            this.inUse = false;
+        }
+    }
+
+    /**
+     * Implemented on {@link net.minecraft.network.ClientConnection} to expose backpressure from the network channel.
+     */
+    public interface ThrottledConnection {
+        boolean cca$isWritable();
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2023 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.internal.base;
+
+import dev.onyxstudios.cca.api.v3.component.ComponentKey;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Accumulates the time spent ticking each component type, for each kind of provider.
+ *
+ * <p>Generated tick methods only take their instrumented path while the profiler's {@link ProfilerSwitch} is on,
+ * and record each tick in a counter stored in a static field of the container class.
+ *
+ * @see dev.onyxstudios.cca.internal.base.asm.CcaAsmHelper
+ */
+public final class ComponentTickProfiler {
+    private static final ProfilerSwitch SWITCH = new ProfilerSwitch();
+    private static final Map<Counter, Counter> counters = new ConcurrentHashMap<>();
+
+    private ComponentTickProfiler() { throw new AssertionError(); }
+
+    /**
+     * Bootstrap method for the profiling checks in generated tick methods.
+     */
+    @SuppressWarnings("unused") // called by generated bytecode
+    public static CallSite bootstrap(MethodHandles.Lookup lookup, String name, MethodType type) {
+        return SWITCH.getCallSite();
+    }
+
+    /**
+     * Gets the counter for ticks of a component type on a kind of provider, creating it if necessary.
+     *
+     * @param key      the key of the ticked component
+     * @param provider a human-readable description of the provider, typically derived from its container class name
+     * @param client   {@code true} for client ticks, {@code false} for server ticks
+     */
+    public static Counter getCounter(ComponentKey<?> key, String provider, boolean client) {
+        Counter counter = new Counter(key, provider, client);
+        return counters.computeIfAbsent(counter, c -> c);
+    }
+
+    public static boolean isEnabled() {
+        return SWITCH.isEnabled();
+    }
+
+    /**
+     * Resets every counter and starts recording component ticks.
+     */
+    public static synchronized void start() {
+        counters.values().forEach(Counter::reset);
+        SWITCH.start();
+    }
+
+    /**
+     * Stops recording component ticks, keeping the recorded data until the next {@link #start()}.
+     */
+    public static void stop() {
+        SWITCH.stop();
+    }
+
+    /**
+     * @return the time elapsed since profiling started, in nanoseconds
+     */
+    public static long getElapsedNanos() {
+        return SWITCH.getElapsedNanos();
+    }
+
+    /**
+     * @return every counter that recorded at least one tick, most expensive first
+     */
+    public static List<Counter> getResults() {
+        List<Counter> ret = new ArrayList<>();
+        for (Counter counter : counters.values()) {
+            if (counter.getInvocations() > 0) ret.add(counter);
+        }
+        ret.sort(Comparator.comparingLong(Counter::getTotalNanos).reversed());
+        return ret;
+    }
+
+    public static final class Counter {
+        private final ComponentKey<?> key;
+        private final String provider;
+        private final boolean client;
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAdder invocations = new LongAdder();
+
+        Counter(ComponentKey<?> key, String provider, boolean client) {
+            this.key = key;
+            this.provider = provider;
+            this.client = client;
+        }
+
+        /**
+         * Records a single tick. Called by generated tick methods while profiling is enabled.
+         */
+        public void record(long nanos) {
+            this.totalNanos.add(nanos);
+            this.invocations.increment();
+        }
+
+        void reset() {
+            this.totalNanos.reset();
+            this.invocations.reset();
+        }
+
+        public ComponentKey<?> getKey() {
+            return this.key;
+        }
+
+        public String getProvider() {
+            return this.provider;
+        }
+
+        public boolean isClient() {
+            return this.client;
+        }
+
+        public long getTotalNanos() {
+            return this.totalNanos.sum();
+        }
+
+        public long getInvocations() {
+            return this.invocations.sum();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Counter counter)) return false;
+            return this.client == counter.client && this.key.equals(counter.key) && this.provider.equals(counter.provider);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = this.key.hashCode();
+            result = 31 * result + this.provider.hashCode();
+            result = 31 * result + Boolean.hashCode(this.client);
+            return result;
+        }
+    }
+}
@@ -36,36 +36,113 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import java.util.Properties;
 
 public final class ComponentsInternals {
     public static final Logger LOGGER = LogManager.getLogger("Cardinal Components API");
     private static boolean logDeserializationWarnings = true;
+    private static boolean warmUpContainerFactories = false;
+    private static boolean coalesceComponentSync = false;
+    private static int syncBudgetPerPlayer = 0;
+
+    /**
+     * Every option of the config file, in the order they get written
+     */
+    private static final List<ConfigOption> CONFIG_OPTIONS = List.of(
+        new ConfigOption("log-deserialization-warnings", "true", """
+            If set to false, warnings will not get logged when a component fails to be resolved (typically due to mods being removed)"""),
+        new ConfigOption("warm-up-container-factories", "false", """
+            If set to true, component containers for every item, and for entity and block entity classes with registered components,
+            get generated at startup instead of the first time each of them is encountered. This trades a longer startup for fewer in-game stutters."""),
+        new ConfigOption("coalesce-component-sync", "false", """
+            If set to true, components synchronized through ComponentKey#sync(Object) are sent once at the end of the server tick,
+            no matter how many times they were synchronized during that tick."""),
+        new ConfigOption("sync-budget-per-player", "0", """
+            If set to a positive value, full component syncs are queued for each player and sent at the end of the server tick,
+            closest providers first, until this many bytes have been sent to the player. Remaining syncs wait for the next tick,
+            as do all queued syncs while the player's connection is congested. A value of 0 sends every sync immediately.""")
+    );
 
     public static void init() {
         Path path = FabricLoader.getInstance().getConfigDir().resolve("cardinal-components-api.properties");
-        try(Reader reader = Files.newBufferedReader(path)) {
-            Properties cfg = new Properties();
-            cfg.load(reader);
-            logDeserializationWarnings = Boolean.parseBoolean(cfg.getProperty("log-deserialization-warnings", "true"));
-        } catch (IOException e) {
-            try {
-                Files.writeString(path, """
-                    # If set to false, warnings will not get logged when a component fails to be resolved (typically due to mods being removed)
-                    # Default value: true
-                    log-deserialization-warnings = true
+        Properties cfg = new Properties();
+        boolean exists = Files.exists(path);
+
+        if (exists) {
+            try (Reader reader = Files.newBufferedReader(path)) {
+                cfg.load(reader);
+            } catch (IOException e) {
+                LOGGER.error("Failed to read config file at {}, using default values", path, e);
+                return;
+            }
+        }
+
+        // each option is parsed on its own, so that one invalid value does not discard the others
+        logDeserializationWarnings = Boolean.parseBoolean(cfg.getProperty("log-deserialization-warnings", "true").trim());
+        warmUpContainerFactories = Boolean.parseBoolean(cfg.getProperty("warm-up-container-factories", "false").trim());
+        coalesceComponentSync = Boolean.parseBoolean(cfg.getProperty("coalesce-component-sync", "false").trim());
+        syncBudgetPerPlayer = Math.max(0, getIntOption(cfg, path, "sync-budget-per-player", 0));
+
+        writeMissingOptions(path, cfg, exists);
+    }
 
+    private static int getIntOption(Properties cfg, Path path, String key, int defaultValue) {
+        String value = cfg.getProperty(key);
+        if (value == null) return defaultValue;
+
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            LOGGER.error("Invalid {} value '{}' in {}, using the default value {}", key, value, path, defaultValue);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Creates the config file, or appends the options it lacks, so that options added by newer versions show up in existing files.
+     */
+    private static void writeMissingOptions(Path path, Properties cfg, boolean exists) {
+        StringBuilder missing = new StringBuilder();
+
+        for (ConfigOption option : CONFIG_OPTIONS) {
+            if (!cfg.containsKey(option.key())) {
+                option.write(missing);
+            }
+        }
+
+        if (missing.isEmpty()) return;
+
+        try {
+            if (exists) {
+                Files.writeString(path, "\n" + missing, StandardOpenOption.APPEND);
+            } else {
+                missing.append("""
                     # Internal value, do not edit or your changes may be arbitrarily reset
                     config-version = 1
                     """);
-            } catch (IOException ex) {
-                LOGGER.error("Failed to write config file at {}", path);
+                Files.writeString(path, missing);
             }
+        } catch (IOException ex) {
+            LOGGER.error("Failed to write config file at {}", path);
         }
     }
 
+    public static boolean shouldWarmUpContainerFactories() {
+        return warmUpContainerFactories;
+    }
+
+    public static boolean shouldCoalesceComponentSync() {
+        return coalesceComponentSync;
+    }
+
+    public static int getSyncBudgetPerPlayer() {
+        return syncBudgetPerPlayer;
+    }
+
     @Nonnull
     public static <R> R createFactory(Class<R> factoryClass) {
         try {
@@ -93,4 +170,12 @@ public final class ComponentsInternals {
             }
         }
     }
+
+    private record ConfigOption(String key, String defaultValue, String description) {
+        void write(StringBuilder out) {
+            this.description.lines().forEach(line -> out.append("# ").append(line).append('\n'));
+            out.append("# Default value: ").append(this.defaultValue).append('\n');
+            out.append(this.key).append(" = ").append(this.defaultValue).append("\n\n");
+        }
+    }
 }
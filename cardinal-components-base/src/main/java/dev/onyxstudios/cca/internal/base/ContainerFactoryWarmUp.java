@@ -0,0 +1,104 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2023 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.internal.base;
+
+import dev.onyxstudios.cca.internal.base.asm.StaticComponentLoadingException;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Builds container factories ahead of time, so that their classes do not get generated
+ * the first time a provider shows up in game.
+ *
+ * <p>Working out which components go in a container touches registration state that is not thread-safe,
+ * so callers prepare their builders on the calling thread and only hand the actual class generation
+ * over to the worker pool.
+ */
+public final class ContainerFactoryWarmUp {
+    private static final AtomicInteger nextWorkerId = new AtomicInteger();
+
+    private ContainerFactoryWarmUp() { throw new AssertionError(); }
+
+    public static boolean isEnabled() {
+        return ComponentsInternals.shouldWarmUpContainerFactories();
+    }
+
+    /**
+     * Runs every builder on a temporary worker pool, then reports the time spent in the log.
+     *
+     * @param providerName a human-readable name for the kind of provider the factories are for
+     * @param builders     deferred {@code build} calls, by key
+     * @return the built factories, with the same keys and iteration order as {@code builders}
+     */
+    public static <K, F> Map<K, F> buildAll(String providerName, Map<K, ? extends Supplier<? extends F>> builders) {
+        Map<K, F> ret = new LinkedHashMap<>();
+
+        if (builders.isEmpty()) {
+            ComponentsInternals.LOGGER.debug("No {} container factory to warm up", providerName);
+            return ret;
+        }
+
+        long start = System.nanoTime();
+        int threads = Math.min(builders.size(), Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, task -> {
+            Thread worker = new Thread(task, "CCA Warm-up Worker #" + nextWorkerId.incrementAndGet());
+            worker.setDaemon(true);
+            worker.setContextClassLoader(contextClassLoader);
+            return worker;
+        });
+
+        try {
+            Map<K, Future<F>> pending = new LinkedHashMap<>();
+            for (Map.Entry<K, ? extends Supplier<? extends F>> entry : builders.entrySet()) {
+                Supplier<? extends F> builder = entry.getValue();
+                pending.put(entry.getKey(), executor.<F>submit(builder::get));
+            }
+            for (Map.Entry<K, Future<F>> entry : pending.entrySet()) {
+                ret.put(entry.getKey(), entry.getValue().get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StaticComponentLoadingException("Interrupted while warming up " + providerName + " container factories", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new StaticComponentLoadingException("Failed to generate a " + providerName + " container factory", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        ComponentsInternals.LOGGER.info(
+            "Warmed up {} {} container factories in {} ms ({} worker threads)",
+            ret.size(), providerName, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), threads
+        );
+        return ret;
+    }
+}
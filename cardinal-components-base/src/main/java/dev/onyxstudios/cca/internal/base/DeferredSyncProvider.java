@@ -0,0 +1,47 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2023 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.internal.base;
+
+import dev.onyxstudios.cca.api.v3.component.ComponentKey;
+
+/**
+ * A component provider that collects its own pending component syncs, and sends them
+ * along with the updates the game already sends for it.
+ *
+ * <p>Implemented by mixins on the game objects whose updates get batched by vanilla, like chunks.
+ */
+public interface DeferredSyncProvider {
+    /**
+     * Attempts to mark a component for synchronization with the next update of this provider.
+     *
+     * @param key the key of the component to synchronize
+     * @return {@code true} if this provider will synchronize the component itself,
+     * {@code false} if the component should be synchronized through the regular path
+     */
+    boolean cca$deferSync(ComponentKey<?> key);
+
+    /**
+     * Synchronizes every component marked since the last call, and forgets about them.
+     */
+    void cca$flushDeferredSyncs();
+}
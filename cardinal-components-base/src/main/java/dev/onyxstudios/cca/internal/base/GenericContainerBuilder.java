@@ -76,7 +76,12 @@ public class GenericContainerBuilder<I, R> {
 
     @Contract(mutates = "this")
     public <C extends Component> GenericContainerBuilder<I, R> component(ComponentKey<? super C> key, Class<C> implClass, I factory, Set<ComponentKey<?>> dependencies) {
-        this.addComponent(key, new QualifiedComponentFactory<>(factory, implClass, dependencies));
+        return this.component(key, implClass, factory, dependencies, false);
+    }
+
+    @Contract(mutates = "this")
+    public <C extends Component> GenericContainerBuilder<I, R> component(ComponentKey<? super C> key, Class<C> implClass, I factory, Set<ComponentKey<?>> dependencies, boolean lazy) {
+        this.addComponent(key, new QualifiedComponentFactory<>(factory, implClass, dependencies, lazy));
         return this;
     }
 
@@ -0,0 +1,91 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2023 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.internal.base;
+
+import dev.onyxstudios.cca.api.v3.component.ComponentContainer;
+import dev.onyxstudios.cca.api.v3.component.ComponentProvider;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtElement;
+
+import javax.annotation.Nullable;
+
+/**
+ * A {@link ComponentProvider} that only creates its {@link ComponentContainer} when it is first requested.
+ *
+ * <p>Component data read before the container exists is kept as NBT, and gets deserialized
+ * once the container is created. Until then, that same data is written back when the provider is saved.
+ */
+public interface LazyComponentProvider {
+    /**
+     * Reads component data from a serialized provider, deferring it if the container has not been created yet.
+     */
+    void cardinal_readComponentData(NbtCompound tag);
+
+    /**
+     * Writes component data to a serialized provider, without creating the container.
+     */
+    void cardinal_writeComponentData(NbtCompound tag);
+
+    /**
+     * @return {@code true} if this provider's component container has already been created
+     */
+    boolean cardinal_hasComponentContainer();
+
+    /**
+     * Merges the component data of a serialized provider into previously deferred data.
+     *
+     * @param deferred data deferred by an earlier call, or {@code null}
+     * @param tag      a serialized provider
+     * @return the data to keep until the container gets created, or {@code null} if there is none
+     */
+    static @Nullable NbtCompound deferComponentData(@Nullable NbtCompound deferred, NbtCompound tag) {
+        NbtElement data = tag.get(AbstractComponentContainer.NBT_KEY);
+
+        if (data == null) {
+            return deferred;
+        }
+
+        if (deferred != null && data instanceof NbtCompound componentMap && deferred.get(AbstractComponentContainer.NBT_KEY) instanceof NbtCompound deferredMap) {
+            deferredMap.copyFrom(componentMap);
+            return deferred;
+        }
+
+        // the source tag belongs to the caller, and may be changed after this call
+        NbtCompound ret = new NbtCompound();
+        ret.put(AbstractComponentContainer.NBT_KEY, data.copy());
+        return ret;
+    }
+
+    /**
+     * Writes previously deferred component data to a serialized provider.
+     */
+    static void writeDeferredComponentData(@Nullable NbtCompound deferred, NbtCompound tag) {
+        if (deferred != null) {
+            NbtElement data = deferred.get(AbstractComponentContainer.NBT_KEY);
+
+            if (data != null) {
+                tag.put(AbstractComponentContainer.NBT_KEY, data.copy());
+            }
+        }
+    }
+}
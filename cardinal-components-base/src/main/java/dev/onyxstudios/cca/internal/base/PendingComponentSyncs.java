@@ -0,0 +1,99 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2023 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.internal.base;
+
+import dev.onyxstudios.cca.api.v3.component.ComponentKey;
+import dev.onyxstudios.cca.api.v3.component.ComponentProvider;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceLinkedOpenHashSet;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Collects the components synchronized through {@link ComponentKey#sync(Object)} during a server tick,
+ * so that each of them is sent at most once per tick.
+ *
+ * <p>Only used when the {@code coalesce-component-sync} config option is enabled. Pending syncs are
+ * flushed at the end of every server tick, on the server thread.
+ */
+public final class PendingComponentSyncs {
+    private static Map<ComponentProvider, Set<ComponentKey<?>>> pending = new Reference2ObjectLinkedOpenHashMap<>();
+    private static volatile Thread serverThread;
+
+    private PendingComponentSyncs() { throw new AssertionError(); }
+
+    /**
+     * @return {@code true} if syncs requested on the current thread should be deferred to the end of the tick
+     */
+    public static boolean shouldDefer() {
+        // syncs requested from other threads, like the client thread, are never flushed
+        return ComponentsInternals.shouldCoalesceComponentSync() && isServerThread();
+    }
+
+    /**
+     * @return {@code true} if the current thread is the one ticking the server
+     */
+    public static boolean isServerThread() {
+        return Thread.currentThread() == serverThread;
+    }
+
+    /**
+     * Records the thread ticking the server, which is the only one that defers syncs.
+     */
+    public static void startTick() {
+        serverThread = Thread.currentThread();
+    }
+
+    /**
+     * Schedules a component for synchronization at the end of the current tick.
+     */
+    public static void mark(ComponentProvider provider, ComponentKey<?> key) {
+        pending.computeIfAbsent(provider, p -> new ReferenceLinkedOpenHashSet<>()).add(key);
+    }
+
+    /**
+     * Sends every pending sync, in the order they were first requested.
+     */
+    public static void flush() {
+        if (pending.isEmpty()) return;
+
+        Map<ComponentProvider, Set<ComponentKey<?>>> batch = pending;
+        // syncs requested while flushing go to the next tick
+        pending = new Reference2ObjectLinkedOpenHashMap<>();
+
+        for (Map.Entry<ComponentProvider, Set<ComponentKey<?>>> entry : batch.entrySet()) {
+            for (ComponentKey<?> key : entry.getValue()) {
+                key.syncImmediately(entry.getKey());
+            }
+        }
+    }
+
+    /**
+     * Drops every pending sync, typically because the server is shutting down.
+     */
+    public static void clear() {
+        serverThread = null;
+        pending = new Reference2ObjectLinkedOpenHashMap<>();
+    }
+}
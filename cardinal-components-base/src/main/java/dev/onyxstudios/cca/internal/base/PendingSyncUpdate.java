@@ -0,0 +1,97 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2023 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.internal.base;
+
+import dev.onyxstudios.cca.api.v3.component.Component;
+import dev.onyxstudios.cca.api.v3.component.ComponentKey;
+import dev.onyxstudios.cca.api.v3.component.sync.AutoSyncedComponent;
+import dev.onyxstudios.cca.api.v3.component.sync.DecodedSyncComponent;
+import dev.onyxstudios.cca.api.v3.component.sync.SyncPacketDecoder;
+import net.minecraft.network.PacketByteBuf;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The content of a component sync packet received by the client, waiting to be applied on the game thread.
+ *
+ * <p>Packets for component types with a {@link SyncPacketDecoder} are decoded right away on the network thread.
+ * Other packets keep a retained slice of the received buffer, which must be {@linkplain #release() released}
+ * once applied.
+ */
+public final class PendingSyncUpdate {
+    private static final Map<ComponentKey<?>, SyncPacketDecoder<?>> decoders = new ConcurrentHashMap<>();
+
+    private final @Nullable Object decoded;
+    private final @Nullable PacketByteBuf data;
+
+    private PendingSyncUpdate(@Nullable Object decoded, @Nullable PacketByteBuf data) {
+        this.decoded = decoded;
+        this.data = data;
+    }
+
+    public static void registerDecoder(ComponentKey<?> key, SyncPacketDecoder<?> decoder) {
+        if (decoders.putIfAbsent(key, decoder) != null) {
+            throw new IllegalStateException("Duplicate sync packet decoder registration for " + key.getId());
+        }
+    }
+
+    /**
+     * Reads the rest of {@code buf}, which holds the data written by the component's packet writer.
+     *
+     * <p>This method is meant to be called on the network thread.
+     */
+    public static PendingSyncUpdate read(ComponentKey<?> key, PacketByteBuf buf) {
+        SyncPacketDecoder<?> decoder = decoders.get(key);
+
+        if (decoder != null) {
+            return new PendingSyncUpdate(Objects.requireNonNull(decoder.decodeSyncPacket(buf), "decoded sync update"), null);
+        }
+
+        PacketByteBuf slice = new PacketByteBuf(buf.retainedSlice(buf.readerIndex(), buf.readableBytes()));
+        buf.skipBytes(buf.readableBytes());
+        return new PendingSyncUpdate(null, slice);
+    }
+
+    /**
+     * Applies this update to the synced component, on the game thread.
+     */
+    public void apply(Component component) {
+        if (this.decoded != null) {
+            if (component instanceof DecodedSyncComponent<?> synced) {
+                @SuppressWarnings("unchecked") DecodedSyncComponent<Object> c = (DecodedSyncComponent<Object>) synced;
+                c.applySyncUpdate(this.decoded);
+            }
+        } else if (component instanceof AutoSyncedComponent synced) {
+            synced.applySyncPacket(Objects.requireNonNull(this.data));
+        }
+    }
+
+    public void release() {
+        if (this.data != null) {
+            this.data.release();
+        }
+    }
+}
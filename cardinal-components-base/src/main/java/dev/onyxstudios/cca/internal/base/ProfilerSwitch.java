@@ -0,0 +1,81 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2023 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.internal.base;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MutableCallSite;
+
+/**
+ * Turns a profiler on and off, and keeps track of how long it has been running.
+ *
+ * <p>Generated code checks whether profiling is enabled through an {@code invokedynamic} instruction
+ * bound to the switch's {@link MutableCallSite}. While profiling is off, the JIT treats the check as a constant
+ * and the instrumented code path is dead, so leaving a profiler available costs nothing.
+ *
+ * @see ComponentTickProfiler
+ * @see ComponentSerializationProfiler
+ */
+public final class ProfilerSwitch {
+    private final MutableCallSite callSite = new MutableCallSite(MethodHandles.constant(boolean.class, false));
+    private boolean enabled;
+    private long startTime;
+
+    /**
+     * @return the call site backing the profiling checks in generated code
+     */
+    public CallSite getCallSite() {
+        return this.callSite;
+    }
+
+    public synchronized boolean isEnabled() {
+        return this.enabled;
+    }
+
+    /**
+     * Restarts the elapsed time and enables profiling.
+     */
+    public synchronized void start() {
+        this.startTime = System.nanoTime();
+        this.setEnabled(true);
+    }
+
+    public synchronized void stop() {
+        this.setEnabled(false);
+    }
+
+    /**
+     * @return the time elapsed since profiling started, in nanoseconds
+     */
+    public synchronized long getElapsedNanos() {
+        return this.startTime == 0 ? 0 : System.nanoTime() - this.startTime;
+    }
+
+    private void setEnabled(boolean value) {
+        if (this.enabled != value) {
+            this.enabled = value;
+            this.callSite.setTarget(MethodHandles.constant(boolean.class, value));
+            MutableCallSite.syncAll(new MutableCallSite[]{this.callSite});
+        }
+    }
+}
@@ -42,12 +42,18 @@ public final class QualifiedComponentFactory<I> {
     private final I factory;
     private final Class<? extends Component> impl;
     private final Set<ComponentKey<?>> dependencies;
+    private final boolean lazy;
     private SortingState sortingState = SortingState.UNSORTED;
 
     public QualifiedComponentFactory(I factory, Class<? extends Component> impl, Set<ComponentKey<?>> dependencies) {
+        this(factory, impl, dependencies, false);
+    }
+
+    public QualifiedComponentFactory(I factory, Class<? extends Component> impl, Set<ComponentKey<?>> dependencies, boolean lazy) {
         this.factory = factory;
         this.impl = impl;
         this.dependencies = dependencies;
+        this.lazy = lazy;
     }
 
     public static <I> void checkNoDependencyCycles(Map<ComponentKey<?>, QualifiedComponentFactory<I>> factories) {
@@ -127,12 +133,20 @@ public final class QualifiedComponentFactory<I> {
         return dependencies;
     }
 
+    /**
+     * @return {@code true} if the component should only be instantiated when first accessed
+     */
+    public boolean lazy() {
+        return lazy;
+    }
+
     @Override
     public String toString() {
         return "QualifiedComponentFactory[" +
             "factory=" + factory + ", " +
             "impl=" + impl + ", " +
-            "dependencies=" + dependencies + ']';
+            "dependencies=" + dependencies + ", " +
+            "lazy=" + lazy + ']';
     }
 
     enum SortingState {
@@ -0,0 +1,228 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2023 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.internal.base;
+
+import dev.onyxstudios.cca.api.v3.component.Component;
+import dev.onyxstudios.cca.api.v3.component.ComponentContainer;
+import dev.onyxstudios.cca.api.v3.component.ComponentKey;
+import dev.onyxstudios.cca.api.v3.component.DirtyTrackingComponent;
+import dev.onyxstudios.cca.api.v3.component.TransientComponent;
+import net.minecraft.nbt.NbtCompound;
+
+import javax.annotation.Nullable;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Common superclass for every generated component container.
+ *
+ * <p>Each statically declared {@link ComponentKey} is assigned a fixed slot during bootstrap.
+ * Generated containers store their components in a dense array, and share a per-class table
+ * mapping key slots to indices in that array. This lets {@link ComponentKey#getInternal(ComponentContainer)}
+ * resolve components through a final method and two bounds-checked array loads, instead of a virtual call
+ * that would be megamorphic across the hundreds of generated container classes.
+ *
+ * <p>Lazy components may be created concurrently by several threads reading the same container.
+ * They get published with a compare-and-exchange on their array element, so every reader ends up
+ * with the same instance, and the instances that lose the race are discarded before anyone sees them.
+ */
+public abstract class SlottedComponentContainer extends AbstractComponentContainer {
+    private static final VarHandle COMPONENTS = MethodHandles.arrayElementVarHandle(Component[].class);
+
+    /**
+     * Components held by this container, in the container's sorted order
+     */
+    protected final Component[] components;
+    /**
+     * Maps a {@linkplain ComponentKey#getSlot() key slot} to an index in {@link #components}, or {@code -1}
+     */
+    private final int[] slotIndices;
+
+    protected SlottedComponentContainer(int[] slotIndices, int size) {
+        this.slotIndices = slotIndices;
+        this.components = new Component[size];
+    }
+
+    /**
+     * @param slot the slot assigned to a {@link ComponentKey} during bootstrap
+     * @return the component stored in that slot, or {@code null} if this container does not support it
+     */
+    public final @Nullable Component getBySlot(int slot) {
+        int[] slotIndices = this.slotIndices;
+
+        if (slot < slotIndices.length) {
+            int index = slotIndices[slot];
+
+            if (index >= 0) {
+                Component component = (Component) COMPONENTS.getAcquire(this.components, index);
+                return component != null ? component : this.createLazyComponent(index);
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * @param slot the slot assigned to a {@link ComponentKey} during bootstrap
+     * @return the component stored in that slot, or {@code null} if this container does not support it
+     * or if it is a lazy component that has not been created yet
+     */
+    public final @Nullable Component getCreatedBySlot(int slot) {
+        int[] slotIndices = this.slotIndices;
+
+        if (slot < slotIndices.length) {
+            int index = slotIndices[slot];
+
+            if (index >= 0) {
+                return (Component) COMPONENTS.getAcquire(this.components, index);
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @implNote Lazy components that have not been created yet are considered clean
+     */
+    @Override
+    public boolean hasDirtyComponents() {
+        for (Component component : this.components) {
+            if (component instanceof DirtyTrackingComponent tracking && tracking.isDirty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean hasUntrackedComponents() {
+        for (Component component : this.components) {
+            if (component != null && !(component instanceof DirtyTrackingComponent) && !(component instanceof TransientComponent)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void clearDirtyComponents() {
+        for (Component component : this.components) {
+            if (component instanceof DirtyTrackingComponent tracking) {
+                tracking.setDirty(false);
+            }
+        }
+    }
+
+    /**
+     * @param index an index in {@link #components}
+     * @return the component stored at that index, instantiating it first if it is a lazy component
+     */
+    protected final Component getOrCreate(int index) {
+        Component component = (Component) COMPONENTS.getAcquire(this.components, index);
+        return component != null ? component : this.createLazyComponent(index);
+    }
+
+    /**
+     * Equivalent of {@link #toTag(NbtCompound)} that reports the cost of every component
+     * to the {@link ComponentSerializationProfiler}. Generated containers delegate to it while profiling.
+     *
+     * @param counters the profiler counters of the container class, in the same order as its {@link #keys()}
+     */
+    protected final NbtCompound toTagProfiled(NbtCompound tag, ComponentSerializationProfiler.Counter[] counters) {
+        NbtCompound componentMap = null;
+        int i = 0;
+
+        for (ComponentKey<?> key : this.keys()) {
+            ComponentSerializationProfiler.Counter counter = counters[i++];
+            Component component = (Component) COMPONENTS.getAcquire(this.components, this.slotIndices[key.getSlot()]);
+
+            // lazy components that were never created have nothing to save
+            if (component != null) {
+                NbtCompound componentTag = new NbtCompound();
+                long start = System.nanoTime();
+                component.writeToNbt(componentTag);
+                long elapsed = System.nanoTime() - start;
+
+                if (isEmptyTag(componentTag)) {
+                    counter.recordWrite(elapsed, 0);
+                } else {
+                    counter.recordWrite(elapsed, ComponentSerializationProfiler.measure(componentTag));
+                    componentMap = putComponentTag(tag, componentMap, key.getId().toString(), componentTag);
+                }
+            }
+        }
+
+        return tag;
+    }
+
+    /**
+     * Equivalent of {@link #readComponents(NbtCompound)} that reports the cost of every component
+     * to the {@link ComponentSerializationProfiler}. Generated containers delegate to it while profiling.
+     *
+     * @param counters the profiler counters of the container class, in the same order as its {@link #keys()}
+     */
+    protected final void readComponentsProfiled(NbtCompound componentMap, ComponentSerializationProfiler.Counter[] counters) {
+        int i = 0;
+
+        for (ComponentKey<?> key : this.keys()) {
+            ComponentSerializationProfiler.Counter counter = counters[i++];
+            NbtCompound componentTag = takeComponentTag(componentMap, key.getId().toString());
+
+            if (componentTag != null) {
+                Component component = this.getOrCreate(this.slotIndices[key.getSlot()]);
+                long start = System.nanoTime();
+                component.readFromNbt(componentTag);
+                counter.recordRead(System.nanoTime() - start);
+            }
+        }
+    }
+
+    /**
+     * Instantiates and stores a lazy component that has not been accessed yet.
+     *
+     * <p>Generated containers holding lazy components override this method.
+     *
+     * @param index an index in {@link #components} that is currently empty
+     * @return the component stored at that index, which may have been created by another thread
+     */
+    protected Component createLazyComponent(int index) {
+        throw new IllegalStateException("No lazy component at index " + index + " in " + this.getClass().getName());
+    }
+
+    /**
+     * Stores a lazy component that was just created, unless another thread stored one first.
+     *
+     * <p>Generated implementations of {@link #createLazyComponent(int)} call this method
+     * and return its result, never the component they created.
+     *
+     * @param index   an index in {@link #components}
+     * @param created the component created for that index
+     * @return the component now stored at that index
+     */
+    protected final Component publishLazyComponent(int index, Component created) {
+        Component witness = (Component) COMPONENTS.compareAndExchangeRelease(this.components, index, null, created);
+        return witness != null ? witness : created;
+    }
+}
@@ -29,14 +29,26 @@ import dev.onyxstudios.cca.api.v3.component.ComponentProvider;
 import dev.onyxstudios.cca.api.v3.component.tick.ClientTickingComponent;
 import dev.onyxstudios.cca.api.v3.component.tick.ServerTickingComponent;
 import dev.onyxstudios.cca.internal.base.AbstractComponentContainer;
+import dev.onyxstudios.cca.internal.base.ComponentKeySet;
+import dev.onyxstudios.cca.internal.base.ComponentSerializationProfiler;
+import dev.onyxstudios.cca.internal.base.ComponentTickProfiler;
+import dev.onyxstudios.cca.internal.base.ComponentsInternals;
 import dev.onyxstudios.cca.internal.base.QualifiedComponentFactory;
-import it.unimi.dsi.fastutil.objects.ReferenceArraySet;
+import dev.onyxstudios.cca.internal.base.SlottedComponentContainer;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectRBTreeMap;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import net.fabricmc.fabric.api.event.Event;
 import net.fabricmc.loader.api.FabricLoader;
 import net.fabricmc.loader.launch.common.FabricLauncherBase;
+import net.minecraft.nbt.NbtCompound;
 import net.minecraft.util.Identifier;
+import org.jetbrains.annotations.Nullable;
 import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Handle;
+import org.objectweb.asm.Label;
 import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.Type;
@@ -50,15 +62,20 @@ import java.lang.reflect.Modifier;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Supplier;
 
 public final class CcaAsmHelper {
 
     /**
-     * If {@code true}, any class generated through {@link #generateClass(ClassWriter, String)} will
+     * If {@code true}, any class generated through {@link #generateClass(ClassNode)} will
      * be checked and written to disk. Highly recommended when editing methods in this class.
      */
     public static final boolean DEBUG_CLASSES = Boolean.getBoolean("cca.debug.asm");
@@ -68,32 +85,73 @@ public final class CcaAsmHelper {
     public static final String COMPONENT_CONTAINER = Type.getInternalName(ComponentContainer.class);
     public static final String COMPONENT_TYPE = Type.getInternalName(ComponentKey.class);
     public static final String DYNAMIC_COMPONENT_CONTAINER_IMPL = Type.getInternalName(AbstractComponentContainer.class);
+    public static final String SLOTTED_COMPONENT_CONTAINER = Type.getInternalName(SlottedComponentContainer.class);
     public static final String IDENTIFIER = (FabricLauncherBase.getLauncher() == null ? Identifier.class.getName() : FabricLoader.getInstance().getMappingResolver().mapClassName("intermediary", "net.minecraft.class_2960")).replace('.', '/');
+    public static final String NBT_COMPOUND = (FabricLauncherBase.getLauncher() == null ? NbtCompound.class.getName() : FabricLoader.getInstance().getMappingResolver().mapClassName("intermediary", "net.minecraft.class_2487")).replace('.', '/');
     public static final String EVENT = Type.getInternalName(Event.class);
+    public static final String TICK_PROFILER = Type.getInternalName(ComponentTickProfiler.class);
+    public static final String TICK_PROFILER_COUNTER = Type.getInternalName(ComponentTickProfiler.Counter.class);
+    public static final String SERIALIZATION_PROFILER = Type.getInternalName(ComponentSerializationProfiler.class);
+    public static final String SERIALIZATION_PROFILER_COUNTER = Type.getInternalName(ComponentSerializationProfiler.Counter.class);
     // generated references
     public static final String STATIC_COMPONENT_CONTAINER = "dev/onyxstudios/cca/_generated_/GeneratedComponentContainer";
-    public static final String STATIC_CONTAINER_GETTER_DESC = "()L" + COMPONENT + ";";
     public static final String STATIC_COMPONENT_TYPE = "dev/onyxstudios/cca/_generated_/ComponentType";
     public static final String STATIC_CONTAINER_FACTORY = "dev/onyxstudios/cca/_generated_/GeneratedContainerFactory";
-    public static final String ABSTRACT_COMPONENT_CONTAINER_CTOR_DESC;
+    public static final String SLOTTED_COMPONENT_CONTAINER_CTOR_DESC;
+    private static final String SERIALIZATION_COUNTERS_FIELD = "serializationCounters";
+    // capability flags emitted on generated containers and factories
+    public static final String HAS_SERVER_TICKERS = "HAS_SERVER_TICKERS";
+    public static final String HAS_CLIENT_TICKERS = "HAS_CLIENT_TICKERS";
 
     static {
         try {
-            ABSTRACT_COMPONENT_CONTAINER_CTOR_DESC = Type.getConstructorDescriptor(AbstractComponentContainer.class.getConstructor());
+            SLOTTED_COMPONENT_CONTAINER_CTOR_DESC = Type.getConstructorDescriptor(SlottedComponentContainer.class.getDeclaredConstructor(int[].class, int.class));
         } catch (NoSuchMethodException e) {
             throw new IllegalStateException("Failed to find one or more method descriptors", e);
         }
     }
 
     public static Class<?> generateClass(ClassNode classNode) throws IOException {
-        ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_FRAMES);
-        classNode.accept(writer);
-        return generateClass(writer, classNode.name);
+        return defineClass(classNode.name, writeClass(classNode));
     }
 
-    private static Class<?> generateClass(ClassWriter classWriter, String className) throws IOException {
+    /**
+     * Defines a generated class, reusing bytecode from the {@linkplain CcaClassCache persistent cache} when possible.
+     *
+     * @param className the internal name of the generated class
+     * @param inputs    a description of everything the generated bytecode depends on, apart from the mod set
+     * @param generator a function generating the class when it is not cached
+     */
+    public static Class<?> generateClass(String className, String inputs, Supplier<ClassNode> generator) throws IOException {
+        byte[] cached = CcaClassCache.INSTANCE.get(className, inputs);
+
+        if (cached != null) {
+            try {
+                return CcaClassLoader.INSTANCE.define(className.replace('/', '.'), cached);
+            } catch (ClassFormatError e) {
+                ComponentsInternals.LOGGER.warn("Discarding corrupted cached class {}", className, e);
+                CcaClassCache.INSTANCE.invalidate(className, inputs);
+            }
+        }
+
+        byte[] bytes = writeClass(generator.get());
+        Class<?> ret = defineClass(className, bytes);
+        CcaClassCache.INSTANCE.put(className, inputs, bytes);
+        return ret;
+    }
+
+    private static byte[] writeClass(ClassNode classNode) throws IOException {
+        try {
+            ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_FRAMES);
+            classNode.accept(writer);
+            return writer.toByteArray();
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            throw new IOException("Failed to generate class " + classNode.name, e);
+        }
+    }
+
+    private static Class<?> defineClass(String className, byte[] bytes) throws IOException {
         try {
-            byte[] bytes = classWriter.toByteArray();
             if (DEBUG_CLASSES) {
                 ClassReader classReader = new ClassReader(bytes);
                 classReader.accept(new CheckClassAdapter(null), 0);
@@ -120,10 +178,6 @@ public final class CcaAsmHelper {
             .replace('-', '\u00A3' /*£*/);
     }
 
-    public static String getStaticStorageGetterName(Identifier identifier) {
-        return "get$" + getJavaIdentifierName(identifier);
-    }
-
     public static Method findSam(Class<?> callbackClass) {
         if (!callbackClass.isInterface()) {
             throw badFunctionalInterface(callbackClass);
@@ -151,7 +205,7 @@ public final class CcaAsmHelper {
      * Defines an implementation of {@link ComponentContainer} that supports direct component access.
      *
      * <p>Instances of the returned class can be returned by {@link ComponentProvider#getComponentContainer()}.
-     * <strong>This method must not be called before the static component container interface has been defined!</strong>
+     * <strong>This method must not be called before component key slots have been assigned!</strong>
      *
      * @param componentFactoryType the interface implemented by the component factories used to initialize this container
      * @param componentFactories   a map of {@link ComponentKey}s to factories for components of that type
@@ -173,7 +227,7 @@ public final class CcaAsmHelper {
      * Defines an implementation of {@link ComponentContainer} that supports direct component access.
      *
      * <p>Instances of the returned class can be returned by {@link ComponentProvider#getComponentContainer()}.
-     * <strong>This method must not be called before the static component container interface has been defined!</strong>
+     * <strong>This method must not be called before component key slots have been assigned!</strong>
      *
      * @param componentFactoryType the interface implemented by the component factories used to initialize this container
      * @param componentFactories   a map of {@link ComponentKey} ids to factories for components of that type
@@ -187,9 +241,93 @@ public final class CcaAsmHelper {
         Map<ComponentKey<?>, QualifiedComponentFactory<I>> sorted = QualifiedComponentFactory.sort(componentFactories);
         checkValidJavaIdentifier(implNameSuffix);
         String containerImplName = STATIC_COMPONENT_CONTAINER + '_' + implNameSuffix;
-        String componentFactoryName = Type.getInternalName(componentFactoryType);
+        Set<ComponentKey<?>> lazyKeys = computeLazyKeys(sorted);
+        Class<? extends ComponentContainer> ret = generateClass(
+            containerImplName,
+            describeContainer(componentFactoryType, sorted, lazyKeys),
+            () -> generateContainerClass(containerImplName, componentFactoryType, sorted, lazyKeys)
+        ).asSubclass(ComponentContainer.class);
+
+        try {
+            Field keySet = ret.getDeclaredField("componentKeys");
+            keySet.setAccessible(true);
+            keySet.set(null, new ComponentKeySet(sorted.keySet()));
+            Field slotIndices = ret.getDeclaredField("slotIndices");
+            slotIndices.setAccessible(true);
+            slotIndices.set(null, computeSlotIndices(sorted.keySet()));
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            throw new StaticComponentLoadingException("Failed to initialize the set of component keys for " + ret, e);
+        }
+
+        if (!sorted.isEmpty()) {
+            initSerializationCounters(ret, sorted.keySet(), implNameSuffix);
+        }
+
+        for (var entry : sorted.entrySet()) {
+            try {
+                Field factoryField = ret.getDeclaredField(getFactoryFieldName(entry.getKey().getId()));
+                factoryField.setAccessible(true);
+                factoryField.set(null, entry.getValue().factory());
+            } catch (NoSuchFieldException | IllegalAccessException e) {
+                throw new StaticComponentLoadingException("Failed to initialize factory field for component type " + entry.getKey(), e);
+            }
+            Class<? extends Component> impl = entry.getValue().impl();
+            if (ServerTickingComponent.class.isAssignableFrom(impl)) {
+                initTickCounter(ret, entry.getKey(), implNameSuffix, false);
+            }
+            if (ClientTickingComponent.class.isAssignableFrom(impl)) {
+                initTickCounter(ret, entry.getKey(), implNameSuffix, true);
+            }
+        }
+        return ret;
+    }
+
+    private static void initTickCounter(Class<? extends ComponentContainer> containerClass, ComponentKey<?> key, String provider, boolean client) {
+        try {
+            Field counterField = containerClass.getDeclaredField(getTickCounterFieldName(key.getId(), client));
+            counterField.setAccessible(true);
+            counterField.set(null, ComponentTickProfiler.getCounter(key, provider, client));
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            throw new StaticComponentLoadingException("Failed to initialize tick profiler counter for component type " + key, e);
+        }
+    }
+
+    private static void initSerializationCounters(Class<? extends ComponentContainer> containerClass, Set<ComponentKey<?>> keys, String provider) {
+        ComponentSerializationProfiler.Counter[] counters = new ComponentSerializationProfiler.Counter[keys.size()];
+        int i = 0;
+        for (ComponentKey<?> key : keys) {
+            counters[i++] = ComponentSerializationProfiler.getCounter(key, provider);
+        }
+        try {
+            Field countersField = containerClass.getDeclaredField(SERIALIZATION_COUNTERS_FIELD);
+            countersField.setAccessible(true);
+            countersField.set(null, counters);
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            throw new StaticComponentLoadingException("Failed to initialize serialization profiler counters for " + containerClass, e);
+        }
+    }
+
+    /**
+     * Describes everything the bytecode of a generated container depends on, apart from the mod set.
+     *
+     * @see CcaClassCache
+     */
+    private static <I> String describeContainer(Class<? super I> componentFactoryType, Map<ComponentKey<?>, QualifiedComponentFactory<I>> sorted, Set<ComponentKey<?>> lazyKeys) {
+        StringBuilder description = new StringBuilder(componentFactoryType.getName());
+        for (var entry : sorted.entrySet()) {
+            description.append('\n').append(entry.getKey().getId()).append(' ').append(entry.getValue().impl().getName());
+            if (lazyKeys.contains(entry.getKey())) {
+                description.append(" lazy");
+            }
+            for (ComponentKey<?> dependency : entry.getValue().dependencies()) {
+                description.append(" after ").append(dependency.getId());
+            }
+        }
+        return description.toString();
+    }
+
+    private static <I> ClassNode generateContainerClass(String containerImplName, Class<? super I> componentFactoryType, Map<ComponentKey<?>, QualifiedComponentFactory<I>> sorted, Set<ComponentKey<?>> lazyKeys) {
         Method sam = findSam(componentFactoryType);
-        String samDescriptor = Type.getMethodDescriptor(sam);
         Class<?>[] factoryArgs = sam.getParameterTypes();
         Type[] actualCtorArgs = new Type[factoryArgs.length];
 
@@ -204,13 +342,14 @@ public final class CcaAsmHelper {
             Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL,
             containerImplName,
             null,
-            STATIC_COMPONENT_CONTAINER,
+            SLOTTED_COMPONENT_CONTAINER,
             null
         );
 
         String factoryFieldDescriptor = Type.getDescriptor(componentFactoryType);
 
         classNode.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC, "componentKeys", "Ljava/util/Set;", "Ljava/util/Set<Ldev/onyxstudios/cca/api/v3/component/ComponentKey<*>;>;", null);
+        classNode.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC, "slotIndices", "[I", null, null);
 
         MethodVisitor keys = classNode.visitMethod(Opcodes.ACC_PUBLIC, "keys", "()Ljava/util/Set;", "()Ljava/util/Set<Ldev/onyxstudios/cca/api/v3/component/ComponentKey<*>;>;", null);
         keys.visitFieldInsn(Opcodes.GETSTATIC, containerImplName, "componentKeys", "Ljava/util/Set;");
@@ -226,19 +365,48 @@ public final class CcaAsmHelper {
         MethodVisitor init = classNode.visitMethod(Opcodes.ACC_PUBLIC, "<init>", ctorDesc, null, null);
         init.visitCode();
         init.visitVarInsn(Opcodes.ALOAD, 0);
-        init.visitMethodInsn(Opcodes.INVOKESPECIAL, STATIC_COMPONENT_CONTAINER, "<init>", ABSTRACT_COMPONENT_CONTAINER_CTOR_DESC, false);
+        init.visitFieldInsn(Opcodes.GETSTATIC, containerImplName, "slotIndices", "[I");
+        init.visitLdcInsn(sorted.size());
+        init.visitMethodInsn(Opcodes.INVOKESPECIAL, SLOTTED_COMPONENT_CONTAINER, "<init>", SLOTTED_COMPONENT_CONTAINER_CTOR_DESC, false);
+
+        if (!lazyKeys.isEmpty()) {
+            // lazy components get created after the constructor returns, so the factory arguments must be kept around
+            for (int i = 0; i < actualCtorArgs.length; i++) {
+                classNode.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_FINAL, getFactoryArgFieldName(i), actualCtorArgs[i].getDescriptor(), null, null).visitEnd();
+                init.visitVarInsn(Opcodes.ALOAD, 0);
+                init.visitVarInsn(Opcodes.ALOAD, i + 1);    // first arg is for the container itself
+                init.visitFieldInsn(Opcodes.PUTFIELD, containerImplName, getFactoryArgFieldName(i), actualCtorArgs[i].getDescriptor());
+            }
+        }
+
+        boolean hasServerTickers = false;
+        boolean hasClientTickers = false;
+        for (QualifiedComponentFactory<I> factory : sorted.values()) {
+            hasServerTickers |= ServerTickingComponent.class.isAssignableFrom(factory.impl());
+            hasClientTickers |= ClientTickingComponent.class.isAssignableFrom(factory.impl());
+        }
+        generateCapabilityFlags(classNode, hasServerTickers, hasClientTickers);
 
         MethodVisitor serverTick = classNode.visitMethod(Opcodes.ACC_PUBLIC, "tickServerComponents", "()V", null, null);
         serverTick.visitCode();
         MethodVisitor clientTick = classNode.visitMethod(Opcodes.ACC_PUBLIC, "tickClientComponents", "()V", null, null);
         clientTick.visitCode();
+        // instrumented copies of the tick methods, only called while the tick profiler is enabled
+        MethodVisitor profiledServerTick = null;
+        MethodVisitor profiledClientTick = null;
+        if (hasServerTickers) {
+            profiledServerTick = generateProfiledTickMethod(classNode, containerImplName, serverTick, "tickServerComponents");
+        }
+        if (hasClientTickers) {
+            profiledClientTick = generateProfiledTickMethod(classNode, containerImplName, clientTick, "tickClientComponents");
+        }
 
+        int index = 0;
         for (var entry : sorted.entrySet()) {
             Identifier identifier = entry.getKey().getId();
-            String componentFieldName = getJavaIdentifierName(identifier);
             Class<? extends Component> impl = entry.getValue().impl();
-            String componentFieldDescriptor = Type.getDescriptor(impl);
             String factoryFieldName = getFactoryFieldName(identifier);
+            boolean lazy = lazyKeys.contains(entry.getKey());
             /* field declaration */
             classNode.visitField(
                 Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC,
@@ -247,99 +415,515 @@ public final class CcaAsmHelper {
                 null,
                 null
             ).visitEnd();
-            classNode.visitField(
-                Opcodes.ACC_PRIVATE | Opcodes.ACC_FINAL,
-                componentFieldName,
-                componentFieldDescriptor,
-                null,
-                null
-            ).visitEnd();
             /* constructor initialization */
-            init.visitFieldInsn(Opcodes.GETSTATIC, containerImplName, factoryFieldName, factoryFieldDescriptor);
-            // stack: factory
-            for (int i = 0; i < factoryArgs.length; i++) {
-                init.visitVarInsn(Opcodes.ALOAD, i + 1);    // first arg is for the container itself
+            if (!lazy) {
+                init.visitVarInsn(Opcodes.ALOAD, 0);
+                // stack: <this>
+                init.visitFieldInsn(Opcodes.GETFIELD, SLOTTED_COMPONENT_CONTAINER, "components", "[L" + COMPONENT + ";");
+                // stack: components
+                init.visitLdcInsn(index);
+                // stack: components index
+                createComponent(init, containerImplName, componentFactoryType, sam, actualCtorArgs, false, identifier, entry.getValue());
+                // stack: components index component
+                // store in the slot
+                init.visitInsn(Opcodes.AASTORE);
+                // <empty stack>
             }
-            // stack: factory factoryArgs...
-            // initialize the component by calling the factory
-            init.visitMethodInsn(Opcodes.INVOKEINTERFACE, componentFactoryName, sam.getName(), samDescriptor, true);
-            // stack: component
-            init.visitLdcInsn("Component factory " + entry.getValue().factory().getClass() + " for " + identifier + " produced a null component");
-            // stack: component, errorMsg
-            init.visitMethodInsn(Opcodes.INVOKESTATIC, "java/util/Objects", "requireNonNull", "(Ljava/lang/Object;Ljava/lang/String;)Ljava/lang/Object;", false);
-            // stack: object
-            init.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(impl));
-            // stack: component
-            init.visitVarInsn(Opcodes.ALOAD, 0);
-            // stack: component <this>
-            init.visitInsn(Opcodes.SWAP);
-            // stack: <this> component
-            // store in the field
-            init.visitFieldInsn(Opcodes.PUTFIELD, containerImplName, componentFieldName, componentFieldDescriptor);
-            // <empty stack>
-
-            /* getter implementation */
-            MethodVisitor getter = classNode.visitMethod(
-                Opcodes.ACC_PUBLIC,
-                getStaticStorageGetterName(identifier),
-                STATIC_CONTAINER_GETTER_DESC,
-                null,
-                null
-            );
-            getter.visitVarInsn(Opcodes.ALOAD, 0);
-            // stack: <this>
-            getter.visitFieldInsn(Opcodes.GETFIELD, containerImplName, componentFieldName, componentFieldDescriptor);
-            // stack: component
-            getter.visitInsn(Opcodes.ARETURN);
-            getter.visitEnd();
 
             /* tick implementation */
             if (ServerTickingComponent.class.isAssignableFrom(impl)) {
-                generateTickImpl(containerImplName, serverTick, componentFieldName, impl, componentFieldDescriptor, "serverTick");
+                String counterField = getTickCounterFieldName(identifier, false);
+                classNode.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC, counterField, "L" + TICK_PROFILER_COUNTER + ";", null, null).visitEnd();
+                generateTickImpl(serverTick, index, impl, "serverTick", lazy, null, null);
+                generateTickImpl(profiledServerTick, index, impl, "serverTick", lazy, containerImplName, counterField);
             }
             if (ClientTickingComponent.class.isAssignableFrom(impl)) {
-                generateTickImpl(containerImplName, clientTick, componentFieldName, impl, componentFieldDescriptor, "clientTick");
+                String counterField = getTickCounterFieldName(identifier, true);
+                classNode.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC, counterField, "L" + TICK_PROFILER_COUNTER + ";", null, null).visitEnd();
+                generateTickImpl(clientTick, index, impl, "clientTick", lazy, null, null);
+                generateTickImpl(profiledClientTick, index, impl, "clientTick", lazy, containerImplName, counterField);
             }
+            index++;
         }
         init.visitInsn(Opcodes.RETURN);
         init.visitEnd();
-        serverTick.visitInsn(Opcodes.RETURN);
-        serverTick.visitEnd();
-        clientTick.visitInsn(Opcodes.RETURN);
-        clientTick.visitEnd();
+        for (MethodVisitor tick : Arrays.asList(serverTick, clientTick, profiledServerTick, profiledClientTick)) {
+            if (tick != null) {
+                tick.visitInsn(Opcodes.RETURN);
+                tick.visitEnd();
+            }
+        }
 
-        Class<? extends ComponentContainer> ret = generateClass(classNode).asSubclass(ComponentContainer.class);
+        if (!lazyKeys.isEmpty()) {
+            generateLazyComponentFactory(classNode, containerImplName, componentFactoryType, sam, actualCtorArgs, sorted, lazyKeys);
+        }
 
-        try {
-            Field keySet = ret.getDeclaredField("componentKeys");
-            keySet.setAccessible(true);
-            // TODO use a custom class with baked in immutability + BitSet contains + array iterator
-            keySet.set(null, Collections.unmodifiableSet(new ReferenceArraySet<>(sorted.keySet())));
-        } catch (NoSuchFieldException | IllegalAccessException e) {
-            throw new StaticComponentLoadingException("Failed to initialize the set of component keys for " + ret, e);
+        if (!sorted.isEmpty()) {
+            generateSerializationImpl(classNode, sorted, lazyKeys);
         }
 
+        return classNode;
+    }
+
+    /**
+     * Generates unrolled overrides for {@link AbstractComponentContainer#toTag(NbtCompound)} and
+     * {@link AbstractComponentContainer#readComponents(NbtCompound)}.
+     *
+     * <p>Components are read straight from the container's array and invoked through their implementation class,
+     * and NBT keys are baked in as string constants instead of being rebuilt from identifiers on every call.
+     * While the {@link ComponentSerializationProfiler} is enabled, both methods delegate to the instrumented
+     * implementations in {@link SlottedComponentContainer} instead.
+     */
+    private static <I> void generateSerializationImpl(ClassNode classNode, Map<ComponentKey<?>, QualifiedComponentFactory<I>> sorted, Set<ComponentKey<?>> lazyKeys) {
+        String nbtDesc = "L" + NBT_COMPOUND + ";";
+        String componentNbtDesc = "(" + nbtDesc + ")V";
+
+        String countersDesc = "[L" + SERIALIZATION_PROFILER_COUNTER + ";";
+        classNode.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC, SERIALIZATION_COUNTERS_FIELD, countersDesc, null, null).visitEnd();
+
+        MethodVisitor toTag = classNode.visitMethod(Opcodes.ACC_PUBLIC, "toTag", "(" + nbtDesc + ")" + nbtDesc, null, null);
+        toTag.visitCode();
+        Label notProfilingWrites = new Label();
+        generateProfilingCheck(toTag, SERIALIZATION_PROFILER, notProfilingWrites);
+        toTag.visitVarInsn(Opcodes.ALOAD, 0);
+        toTag.visitVarInsn(Opcodes.ALOAD, 1);
+        toTag.visitFieldInsn(Opcodes.GETSTATIC, classNode.name, SERIALIZATION_COUNTERS_FIELD, countersDesc);
+        toTag.visitMethodInsn(Opcodes.INVOKESPECIAL, SLOTTED_COMPONENT_CONTAINER, "toTagProfiled", "(" + nbtDesc + countersDesc + ")" + nbtDesc, false);
+        toTag.visitInsn(Opcodes.ARETURN);
+        toTag.visitLabel(notProfilingWrites);
+        // local 2: componentMap, local 3: componentTag
+        toTag.visitInsn(Opcodes.ACONST_NULL);
+        toTag.visitVarInsn(Opcodes.ASTORE, 2);
+        toTag.visitInsn(Opcodes.ACONST_NULL);
+        toTag.visitVarInsn(Opcodes.ASTORE, 3);
+
+        MethodVisitor readComponents = classNode.visitMethod(Opcodes.ACC_PROTECTED, "readComponents", componentNbtDesc, null, null);
+        readComponents.visitCode();
+        Label notProfilingReads = new Label();
+        generateProfilingCheck(readComponents, SERIALIZATION_PROFILER, notProfilingReads);
+        readComponents.visitVarInsn(Opcodes.ALOAD, 0);
+        readComponents.visitVarInsn(Opcodes.ALOAD, 1);
+        readComponents.visitFieldInsn(Opcodes.GETSTATIC, classNode.name, SERIALIZATION_COUNTERS_FIELD, countersDesc);
+        readComponents.visitMethodInsn(Opcodes.INVOKESPECIAL, SLOTTED_COMPONENT_CONTAINER, "readComponentsProfiled", "(" + nbtDesc + countersDesc + ")V", false);
+        readComponents.visitInsn(Opcodes.RETURN);
+        readComponents.visitLabel(notProfilingReads);
+        // local 2: componentTag
+
+        int index = 0;
         for (var entry : sorted.entrySet()) {
-            try {
-                Field factoryField = ret.getDeclaredField(getFactoryFieldName(entry.getKey().getId()));
-                factoryField.setAccessible(true);
-                factoryField.set(null, entry.getValue().factory());
-            } catch (NoSuchFieldException | IllegalAccessException e) {
-                throw new StaticComponentLoadingException("Failed to initialize factory field for component type " + entry.getKey(), e);
+            String nbtKey = entry.getKey().getId().toString();
+            Class<? extends Component> impl = entry.getValue().impl();
+            boolean lazy = lazyKeys.contains(entry.getKey());
+
+            /* serialization */
+            Label hasTag = new Label();
+            Label skipWrite = new Label();
+            if (lazy) {
+                // lazy components that were never created have nothing to save
+                toTag.visitVarInsn(Opcodes.ALOAD, 0);
+                toTag.visitFieldInsn(Opcodes.GETFIELD, SLOTTED_COMPONENT_CONTAINER, "components", "[L" + COMPONENT + ";");
+                toTag.visitLdcInsn(index);
+                toTag.visitInsn(Opcodes.AALOAD);
+                toTag.visitJumpInsn(Opcodes.IFNULL, skipWrite);
+            }
+            toTag.visitVarInsn(Opcodes.ALOAD, 3);
+            toTag.visitJumpInsn(Opcodes.IFNONNULL, hasTag);
+            toTag.visitTypeInsn(Opcodes.NEW, NBT_COMPOUND);
+            toTag.visitInsn(Opcodes.DUP);
+            toTag.visitMethodInsn(Opcodes.INVOKESPECIAL, NBT_COMPOUND, "<init>", "()V", false);
+            toTag.visitVarInsn(Opcodes.ASTORE, 3);
+            toTag.visitLabel(hasTag);
+            loadComponent(toTag, index, impl);
+            // stack: component
+            toTag.visitVarInsn(Opcodes.ALOAD, 3);
+            // stack: component componentTag
+            invokeComponentMethod(toTag, impl, "writeToNbt", componentNbtDesc);
+            // <empty stack>
+            toTag.visitVarInsn(Opcodes.ALOAD, 3);
+            toTag.visitMethodInsn(Opcodes.INVOKESTATIC, DYNAMIC_COMPONENT_CONTAINER_IMPL, "isEmptyTag", "(" + nbtDesc + ")Z", false);
+            toTag.visitJumpInsn(Opcodes.IFNE, skipWrite);
+            toTag.visitVarInsn(Opcodes.ALOAD, 1);
+            toTag.visitVarInsn(Opcodes.ALOAD, 2);
+            toTag.visitLdcInsn(nbtKey);
+            toTag.visitVarInsn(Opcodes.ALOAD, 3);
+            // stack: tag componentMap nbtKey componentTag
+            toTag.visitMethodInsn(Opcodes.INVOKESTATIC, DYNAMIC_COMPONENT_CONTAINER_IMPL, "putComponentTag", "(" + nbtDesc + nbtDesc + "Ljava/lang/String;" + nbtDesc + ")" + nbtDesc, false);
+            // stack: componentMap
+            toTag.visitVarInsn(Opcodes.ASTORE, 2);
+            // the tag now belongs to the component map, a new one will be allocated if needed
+            toTag.visitInsn(Opcodes.ACONST_NULL);
+            toTag.visitVarInsn(Opcodes.ASTORE, 3);
+            toTag.visitLabel(skipWrite);
+
+            /* deserialization */
+            Label skipRead = new Label();
+            readComponents.visitVarInsn(Opcodes.ALOAD, 1);
+            readComponents.visitLdcInsn(nbtKey);
+            // stack: componentMap nbtKey
+            readComponents.visitMethodInsn(Opcodes.INVOKESTATIC, DYNAMIC_COMPONENT_CONTAINER_IMPL, "takeComponentTag", "(" + nbtDesc + "Ljava/lang/String;)" + nbtDesc, false);
+            // stack: componentTag
+            readComponents.visitVarInsn(Opcodes.ASTORE, 2);
+            readComponents.visitVarInsn(Opcodes.ALOAD, 2);
+            readComponents.visitJumpInsn(Opcodes.IFNULL, skipRead);
+            if (lazy) {
+                loadOrCreateComponent(readComponents, index, impl);
+            } else {
+                loadComponent(readComponents, index, impl);
             }
+            readComponents.visitVarInsn(Opcodes.ALOAD, 2);
+            // stack: component componentTag
+            invokeComponentMethod(readComponents, impl, "readFromNbt", componentNbtDesc);
+            readComponents.visitLabel(skipRead);
+
+            index++;
         }
-        return ret;
+
+        toTag.visitVarInsn(Opcodes.ALOAD, 1);
+        toTag.visitInsn(Opcodes.ARETURN);
+        toTag.visitEnd();
+        readComponents.visitInsn(Opcodes.RETURN);
+        readComponents.visitEnd();
+
+        generateNbtKeyLookup(classNode, sorted.keySet());
     }
 
-    private static void generateTickImpl(String containerImplName, MethodVisitor tick, String componentFieldName, Class<? extends Component> impl, String componentFieldDescriptor, String target) {
-        tick.visitVarInsn(Opcodes.ALOAD, 0);
+    /**
+     * Generates an override for {@link AbstractComponentContainer#getComponentByNbtKey(String)},
+     * implemented as a switch on the key's hash code followed by {@link String#equals(Object)} checks,
+     * the same way {@code javac} compiles a switch over strings.
+     */
+    private static void generateNbtKeyLookup(ClassNode classNode, Collection<ComponentKey<?>> keys) {
+        Int2ObjectMap<List<String>> keysByHash = new Int2ObjectRBTreeMap<>();
+        Object2IntMap<String> indices = new Object2IntOpenHashMap<>();
+        for (ComponentKey<?> key : keys) {
+            String nbtKey = key.getId().toString();
+            keysByHash.computeIfAbsent(nbtKey.hashCode(), h -> new ArrayList<>()).add(nbtKey);
+            indices.put(nbtKey, indices.size());
+        }
+
+        MethodVisitor lookup = classNode.visitMethod(Opcodes.ACC_PROTECTED, "getComponentByNbtKey", "(Ljava/lang/String;)L" + COMPONENT + ";", null, null);
+        lookup.visitCode();
+        Label notFound = new Label();
+        int[] hashes = keysByHash.keySet().toIntArray();   // sorted, as required by LOOKUPSWITCH
+        Label[] cases = new Label[hashes.length];
+        for (int i = 0; i < cases.length; i++) {
+            cases[i] = new Label();
+        }
+        lookup.visitVarInsn(Opcodes.ALOAD, 1);
+        lookup.visitMethodInsn(Opcodes.INVOKEVIRTUAL, "java/lang/String", "hashCode", "()I", false);
+        // stack: hash
+        lookup.visitLookupSwitchInsn(notFound, hashes, cases);
+
+        for (int i = 0; i < hashes.length; i++) {
+            lookup.visitLabel(cases[i]);
+            for (String candidate : keysByHash.get(hashes[i])) {
+                Label mismatch = new Label();
+                lookup.visitLdcInsn(candidate);
+                lookup.visitVarInsn(Opcodes.ALOAD, 1);
+                // stack: candidate nbtKey
+                lookup.visitMethodInsn(Opcodes.INVOKEVIRTUAL, "java/lang/String", "equals", "(Ljava/lang/Object;)Z", false);
+                lookup.visitJumpInsn(Opcodes.IFEQ, mismatch);
+                lookup.visitVarInsn(Opcodes.ALOAD, 0);
+                lookup.visitLdcInsn(indices.getInt(candidate));
+                // the caller is about to read data into the component, so lazy components must be created
+                lookup.visitMethodInsn(Opcodes.INVOKEVIRTUAL, SLOTTED_COMPONENT_CONTAINER, "getOrCreate", "(I)L" + COMPONENT + ";", false);
+                // stack: component
+                lookup.visitInsn(Opcodes.ARETURN);
+                lookup.visitLabel(mismatch);
+            }
+            lookup.visitJumpInsn(Opcodes.GOTO, notFound);
+        }
+
+        lookup.visitLabel(notFound);
+        lookup.visitInsn(Opcodes.ACONST_NULL);
+        lookup.visitInsn(Opcodes.ARETURN);
+        lookup.visitEnd();
+    }
+
+    /**
+     * Pushes the component stored at the given index of a slotted container, cast to its implementation class.
+     */
+    private static void loadComponent(MethodVisitor method, int index, Class<? extends Component> impl) {
+        method.visitVarInsn(Opcodes.ALOAD, 0);
         // stack: <this>
-        tick.visitFieldInsn(Opcodes.GETFIELD, containerImplName, componentFieldName, componentFieldDescriptor);
+        method.visitFieldInsn(Opcodes.GETFIELD, SLOTTED_COMPONENT_CONTAINER, "components", "[L" + COMPONENT + ";");
+        // stack: components
+        method.visitLdcInsn(index);
+        // stack: components index
+        method.visitInsn(Opcodes.AALOAD);
+        // stack: object
+        method.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(impl));
         // stack: component
+    }
+
+    /**
+     * Pushes the component stored at the given index of a slotted container, cast to its implementation class,
+     * creating it first if it is a lazy component that has not been accessed yet.
+     */
+    private static void loadOrCreateComponent(MethodVisitor method, int index, Class<? extends Component> impl) {
+        method.visitVarInsn(Opcodes.ALOAD, 0);
+        method.visitLdcInsn(index);
+        // stack: <this> index
+        method.visitMethodInsn(Opcodes.INVOKEVIRTUAL, SLOTTED_COMPONENT_CONTAINER, "getOrCreate", "(I)L" + COMPONENT + ";", false);
+        // stack: object
+        method.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(impl));
+        // stack: component
+    }
+
+    /**
+     * Pushes a new component created by the factory stored in the container's static field for that component.
+     *
+     * @param argsFromFields {@code true} to pass the factory arguments stored in the container's fields,
+     *                       {@code false} to pass the constructor's arguments directly
+     */
+    private static void createComponent(MethodVisitor method, String containerImplName, Class<?> componentFactoryType, Method sam, Type[] ctorArgs, boolean argsFromFields, Identifier identifier, QualifiedComponentFactory<?> factory) {
+        String factoryFieldDescriptor = Type.getDescriptor(componentFactoryType);
+        method.visitFieldInsn(Opcodes.GETSTATIC, containerImplName, getFactoryFieldName(identifier), factoryFieldDescriptor);
+        // stack: factory
+        for (int i = 0; i < ctorArgs.length; i++) {
+            if (argsFromFields) {
+                method.visitVarInsn(Opcodes.ALOAD, 0);
+                method.visitFieldInsn(Opcodes.GETFIELD, containerImplName, getFactoryArgFieldName(i), ctorArgs[i].getDescriptor());
+            } else {
+                method.visitVarInsn(Opcodes.ALOAD, i + 1);    // first arg is for the container itself
+            }
+        }
+        // stack: factory factoryArgs...
+        // initialize the component by calling the factory
+        method.visitMethodInsn(Opcodes.INVOKEINTERFACE, Type.getInternalName(componentFactoryType), sam.getName(), Type.getMethodDescriptor(sam), true);
+        // stack: object
+        // the message must not mention the factory's class, as lambda class names change between launches
+        method.visitLdcInsn("Component factory for " + identifier + " (" + factory.impl().getName() + ") produced a null component");
+        // stack: object errorMsg
+        method.visitMethodInsn(Opcodes.INVOKESTATIC, "java/util/Objects", "requireNonNull", "(Ljava/lang/Object;Ljava/lang/String;)Ljava/lang/Object;", false);
+        // stack: object
+        method.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(factory.impl()));
+        // stack: component
+    }
+
+    /**
+     * Generates an override for {@link SlottedComponentContainer#createLazyComponent(int)},
+     * implemented as a switch over the indices of the container's lazy components.
+     *
+     * <p>Lazy dependencies of a component get created before the component itself.
+     */
+    private static <I> void generateLazyComponentFactory(ClassNode classNode, String containerImplName, Class<? super I> componentFactoryType, Method sam, Type[] ctorArgs, Map<ComponentKey<?>, QualifiedComponentFactory<I>> sorted, Set<ComponentKey<?>> lazyKeys) {
+        Object2IntMap<ComponentKey<?>> indices = new Object2IntOpenHashMap<>();
+        for (ComponentKey<?> key : sorted.keySet()) {
+            indices.put(key, indices.size());
+        }
+
+        MethodVisitor create = classNode.visitMethod(Opcodes.ACC_PROTECTED, "createLazyComponent", "(I)L" + COMPONENT + ";", null, null);
+        create.visitCode();
+        Label unknown = new Label();
+        int[] lazyIndices = new int[lazyKeys.size()];
+        Label[] cases = new Label[lazyIndices.length];
+        int caseIndex = 0;
+        for (ComponentKey<?> key : sorted.keySet()) {    // iterating in sorted order yields ascending indices
+            if (lazyKeys.contains(key)) {
+                lazyIndices[caseIndex] = indices.getInt(key);
+                cases[caseIndex++] = new Label();
+            }
+        }
+        create.visitVarInsn(Opcodes.ILOAD, 1);
+        // stack: index
+        create.visitLookupSwitchInsn(unknown, lazyIndices, cases);
+
+        caseIndex = 0;
+        for (var entry : sorted.entrySet()) {
+            if (!lazyKeys.contains(entry.getKey())) continue;
+            int index = lazyIndices[caseIndex];
+            create.visitLabel(cases[caseIndex++]);
+            for (ComponentKey<?> dependency : entry.getValue().dependencies()) {
+                if (lazyKeys.contains(dependency)) {
+                    create.visitVarInsn(Opcodes.ALOAD, 0);
+                    create.visitLdcInsn(indices.getInt(dependency));
+                    create.visitMethodInsn(Opcodes.INVOKEVIRTUAL, SLOTTED_COMPONENT_CONTAINER, "getOrCreate", "(I)L" + COMPONENT + ";", false);
+                    create.visitInsn(Opcodes.POP);
+                }
+            }
+            createComponent(create, containerImplName, componentFactoryType, sam, ctorArgs, true, entry.getKey().getId(), entry.getValue());
+            // stack: component
+            create.visitVarInsn(Opcodes.ASTORE, 2);
+            create.visitVarInsn(Opcodes.ALOAD, 0);
+            create.visitLdcInsn(index);
+            create.visitVarInsn(Opcodes.ALOAD, 2);
+            // stack: this index component
+            create.visitMethodInsn(Opcodes.INVOKEVIRTUAL, SLOTTED_COMPONENT_CONTAINER, "publishLazyComponent", "(IL" + COMPONENT + ";)L" + COMPONENT + ";", false);
+            // stack: storedComponent
+            create.visitInsn(Opcodes.ARETURN);
+        }
+
+        create.visitLabel(unknown);
+        create.visitVarInsn(Opcodes.ALOAD, 0);
+        create.visitVarInsn(Opcodes.ILOAD, 1);
+        create.visitMethodInsn(Opcodes.INVOKESPECIAL, SLOTTED_COMPONENT_CONTAINER, "createLazyComponent", "(I)L" + COMPONENT + ";", false);
+        create.visitInsn(Opcodes.ARETURN);
+        create.visitEnd();
+    }
+
+    /**
+     * Determines which components of a container can actually be created lazily.
+     *
+     * <p>A component flagged as lazy is still created eagerly if a component that is
+     * itself created eagerly depends on it, directly or transitively.
+     *
+     * @param sorted the container's components, sorted so that dependencies come before their dependents
+     */
+    private static <I> Set<ComponentKey<?>> computeLazyKeys(Map<ComponentKey<?>, QualifiedComponentFactory<I>> sorted) {
+        List<Map.Entry<ComponentKey<?>, QualifiedComponentFactory<I>>> entries = new ArrayList<>(sorted.entrySet());
+        Set<ComponentKey<?>> eagerDependencies = new HashSet<>();
+        Set<ComponentKey<?>> lazyKeys = new HashSet<>();
+        // dependents come after their dependencies, so walking backwards visits them first
+        for (int i = entries.size() - 1; i >= 0; i--) {
+            var entry = entries.get(i);
+            if (entry.getValue().lazy() && !eagerDependencies.contains(entry.getKey())) {
+                lazyKeys.add(entry.getKey());
+            } else {
+                eagerDependencies.addAll(entry.getValue().dependencies());
+            }
+        }
+        return lazyKeys;
+    }
+
+    private static void invokeComponentMethod(MethodVisitor method, Class<? extends Component> impl, String name, String desc) {
         if (impl.isInterface()) {
-            tick.visitMethodInsn(Opcodes.INVOKEINTERFACE, Type.getInternalName(impl), target, "()V", true);
+            method.visitMethodInsn(Opcodes.INVOKEINTERFACE, Type.getInternalName(impl), name, desc, true);
         } else {
-            tick.visitMethodInsn(Opcodes.INVOKEVIRTUAL, Type.getInternalName(impl), target, "()V", false);
+            method.visitMethodInsn(Opcodes.INVOKEVIRTUAL, Type.getInternalName(impl), name, desc, false);
+        }
+    }
+
+    /**
+     * Builds the table used by {@link SlottedComponentContainer#getBySlot(int)}, mapping every key slot
+     * up to the highest one used by a container to the index of the corresponding component, or {@code -1}.
+     */
+    private static int[] computeSlotIndices(Collection<ComponentKey<?>> keys) {
+        int maxSlot = -1;
+        for (ComponentKey<?> key : keys) {
+            maxSlot = Math.max(maxSlot, key.getSlot());
+        }
+        int[] slotIndices = new int[maxSlot + 1];
+        Arrays.fill(slotIndices, -1);
+        int index = 0;
+        for (ComponentKey<?> key : keys) {
+            slotIndices[key.getSlot()] = index++;
+        }
+        return slotIndices;
+    }
+
+    /**
+     * Generates a private copy of a tick method meant to be filled with instrumented tick calls,
+     * and makes the original method delegate to it while the {@link ComponentTickProfiler} is enabled.
+     */
+    private static MethodVisitor generateProfiledTickMethod(ClassNode classNode, String containerImplName, MethodVisitor tick, String name) {
+        String profiledName = name + "$profiled";
+        Label notProfiling = new Label();
+        generateProfilingCheck(tick, TICK_PROFILER, notProfiling);
+        tick.visitVarInsn(Opcodes.ALOAD, 0);
+        tick.visitMethodInsn(Opcodes.INVOKESPECIAL, containerImplName, profiledName, "()V", false);
+        tick.visitInsn(Opcodes.RETURN);
+        tick.visitLabel(notProfiling);
+        MethodVisitor profiledTick = classNode.visitMethod(Opcodes.ACC_PRIVATE, profiledName, "()V", null, null);
+        profiledTick.visitCode();
+        return profiledTick;
+    }
+
+    /**
+     * Generates a jump to {@code notProfiling} if the given profiler is disabled.
+     *
+     * <p>The check is an {@code invokedynamic} instruction bound to the profiler's mutable call site,
+     * which the JIT compiles down to a constant.
+     *
+     * @param profiler the internal name of a profiler class with a {@code bootstrap} method
+     */
+    private static void generateProfilingCheck(MethodVisitor method, String profiler, Label notProfiling) {
+        method.visitInvokeDynamicInsn("isProfiling", "()Z", new Handle(
+            Opcodes.H_INVOKESTATIC,
+            profiler,
+            "bootstrap",
+            "(Ljava/lang/invoke/MethodHandles$Lookup;Ljava/lang/String;Ljava/lang/invoke/MethodType;)Ljava/lang/invoke/CallSite;",
+            false
+        ));
+        method.visitJumpInsn(Opcodes.IFEQ, notProfiling);
+    }
+
+    /**
+     * @param counterOwner the container class holding the profiler counter, or {@code null} for an uninstrumented tick
+     * @param counterField the name of the static field holding the profiler counter, or {@code null} for an uninstrumented tick
+     */
+    private static void generateTickImpl(MethodVisitor tick, int index, Class<? extends Component> impl, String target, boolean lazy, @Nullable String counterOwner, @Nullable String counterField) {
+        if (lazy) {
+            // lazy components that were never created do not get ticked
+            Label skip = new Label();
+            tick.visitVarInsn(Opcodes.ALOAD, 0);
+            tick.visitFieldInsn(Opcodes.GETFIELD, SLOTTED_COMPONENT_CONTAINER, "components", "[L" + COMPONENT + ";");
+            tick.visitLdcInsn(index);
+            tick.visitInsn(Opcodes.AALOAD);
+            // stack: object
+            tick.visitVarInsn(Opcodes.ASTORE, 1);
+            tick.visitVarInsn(Opcodes.ALOAD, 1);
+            tick.visitJumpInsn(Opcodes.IFNULL, skip);
+            if (counterField != null) startTickTimer(tick);
+            tick.visitVarInsn(Opcodes.ALOAD, 1);
+            tick.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(impl));
+            // stack: component
+            invokeComponentMethod(tick, impl, target, "()V");
+            if (counterField != null) recordTickTimer(tick, counterOwner, counterField);
+            tick.visitLabel(skip);
+        } else {
+            if (counterField != null) startTickTimer(tick);
+            loadComponent(tick, index, impl);
+            // stack: component
+            invokeComponentMethod(tick, impl, target, "()V");
+            if (counterField != null) recordTickTimer(tick, counterOwner, counterField);
+        }
+    }
+
+    private static void startTickTimer(MethodVisitor tick) {
+        tick.visitMethodInsn(Opcodes.INVOKESTATIC, "java/lang/System", "nanoTime", "()J", false);
+        // local 1 is used for lazy components
+        tick.visitVarInsn(Opcodes.LSTORE, 2);
+    }
+
+    private static void recordTickTimer(MethodVisitor tick, String counterOwner, String counterField) {
+        tick.visitFieldInsn(Opcodes.GETSTATIC, counterOwner, counterField, "L" + TICK_PROFILER_COUNTER + ";");
+        // stack: counter
+        tick.visitMethodInsn(Opcodes.INVOKESTATIC, "java/lang/System", "nanoTime", "()J", false);
+        tick.visitVarInsn(Opcodes.LLOAD, 2);
+        tick.visitInsn(Opcodes.LSUB);
+        // stack: counter elapsed
+        tick.visitMethodInsn(Opcodes.INVOKEVIRTUAL, TICK_PROFILER_COUNTER, "record", "(J)V", false);
+    }
+
+    /**
+     * Emits compile-time constants telling whether instances of the generated class have anything to tick.
+     *
+     * @see #hasTickers(Class, boolean)
+     */
+    static void generateCapabilityFlags(ClassNode classNode, boolean hasServerTickers, boolean hasClientTickers) {
+        int access = Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC | Opcodes.ACC_FINAL;
+        classNode.visitField(access, HAS_SERVER_TICKERS, "Z", null, hasServerTickers ? 1 : 0).visitEnd();
+        classNode.visitField(access, HAS_CLIENT_TICKERS, "Z", null, hasClientTickers ? 1 : 0).visitEnd();
+    }
+
+    /**
+     * Reads the capability flags of a generated container or container factory class.
+     *
+     * <p>Classes that were not generated by CCA, like the factory returned by an empty
+     * {@link dev.onyxstudios.cca.internal.base.GenericContainerBuilder}, are assumed to produce containers with nothing to tick.
+     *
+     * @param generatedClass a generated container class, or the class of a generated container factory
+     * @param client         {@code true} to check for client tickers, {@code false} to check for server tickers
+     * @return {@code true} if containers of the given class may have components to tick on the given side
+     */
+    public static boolean hasTickers(Class<?> generatedClass, boolean client) {
+        try {
+            return generatedClass.getField(client ? HAS_CLIENT_TICKERS : HAS_SERVER_TICKERS).getBoolean(null);
+        } catch (NoSuchFieldException e) {
+            return false;
+        } catch (IllegalAccessException e) {
+            throw new StaticComponentLoadingException("Failed to read capability flags of " + generatedClass, e);
         }
     }
 
@@ -347,6 +931,14 @@ public final class CcaAsmHelper {
         return getJavaIdentifierName(identifier) + "$factory";
     }
 
+    private static String getTickCounterFieldName(Identifier identifier, boolean client) {
+        return getJavaIdentifierName(identifier) + (client ? "$clientTicks" : "$serverTicks");
+    }
+
+    private static String getFactoryArgFieldName(int argIndex) {
+        return "factoryArg$" + argIndex;
+    }
+
     public static void checkValidJavaIdentifier(String implNameSuffix) {
         for (int i = 0; i < implNameSuffix.length(); i++) {
             if (!Character.isJavaIdentifierPart(implNameSuffix.charAt(i))) {
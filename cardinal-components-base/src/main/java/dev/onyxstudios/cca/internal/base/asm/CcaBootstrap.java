@@ -24,9 +24,11 @@ package dev.onyxstudios.cca.internal.base.asm;
 
 import com.google.common.annotations.VisibleForTesting;
 import dev.onyxstudios.cca.api.v3.component.ComponentKey;
-import dev.onyxstudios.cca.api.v3.component.ComponentProvider;
+import dev.onyxstudios.cca.api.v3.component.ComponentContainer;
 import dev.onyxstudios.cca.api.v3.component.StaticComponentInitializer;
 import dev.onyxstudios.cca.internal.base.LazyDispatcher;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import net.fabricmc.loader.api.FabricLoader;
 import net.fabricmc.loader.api.ModContainer;
 import net.fabricmc.loader.api.entrypoint.EntrypointContainer;
@@ -54,7 +56,6 @@ import java.util.TreeSet;
 public final class CcaBootstrap extends LazyDispatcher {
 
     public static final String COMPONENT_TYPE_INIT_DESC = Type.getMethodDescriptor(Type.VOID_TYPE, Type.getObjectType(CcaAsmHelper.IDENTIFIER), Type.getType(Class.class));
-    public static final String COMPONENT_TYPE_GET0_DESC = "(L" + CcaAsmHelper.COMPONENT_CONTAINER + ";)L" + CcaAsmHelper.COMPONENT + ";";
     public static final String STATIC_INIT_ENTRYPOINT = "cardinal-components:static-init";
     public static final CcaBootstrap INSTANCE = new CcaBootstrap();
 
@@ -62,9 +63,11 @@ public final class CcaBootstrap extends LazyDispatcher {
 
     @VisibleForTesting Collection<Identifier> additionalComponentIds = new ArrayList<>();
     private Map<Identifier, Class<? extends ComponentKey<?>>> generatedComponentTypes = new HashMap<>();
+    private final Object2IntMap<Identifier> componentSlots = new Object2IntOpenHashMap<>();
 
     public CcaBootstrap() {
         super("registering a ComponentType");
+        this.componentSlots.defaultReturnValue(-1);
     }
 
     public boolean isGenerated(Class<?> keyClass) {
@@ -79,6 +82,36 @@ public final class CcaBootstrap extends LazyDispatcher {
         return this.generatedComponentTypes.get(componentId);
     }
 
+    /**
+     * @param componentId the id of a statically declared component
+     * @return the fixed slot assigned to the {@link ComponentKey} with that id
+     * @throws IllegalStateException if {@code componentId} was not statically declared
+     */
+    public int getSlot(Identifier componentId) {
+        int slot = this.findSlot(componentId);
+        if (slot < 0) {
+            throw new IllegalStateException(componentId + " was not registered through mod metadata or plugin");
+        }
+        return slot;
+    }
+
+    /**
+     * @return the fixed slot assigned to the {@link ComponentKey} with that id, or {@code -1} if it was not statically declared
+     */
+    public int findSlot(Identifier componentId) {
+        this.ensureInitialized();
+        // never written after initialization, so safe to read from any thread
+        return this.componentSlots.getInt(componentId);
+    }
+
+    /**
+     * @return the number of statically declared components
+     */
+    public int getSlotCount() {
+        this.ensureInitialized();
+        return this.componentSlots.size();
+    }
+
     @Override
     protected void init() {
         try {
@@ -108,7 +141,10 @@ public final class CcaBootstrap extends LazyDispatcher {
 
             staticComponentTypes.addAll(this.additionalComponentIds);
 
-            this.spinStaticContainerItf(staticComponentTypes);
+            for (Identifier componentId : staticComponentTypes) {
+                this.componentSlots.put(componentId, this.componentSlots.size());
+            }
+
             this.generatedComponentTypes = this.spinStaticComponentKeys(staticComponentTypes);
         } catch (IOException | UncheckedIOException e) {
             throw new StaticComponentLoadingException("Failed to load statically defined components", e);
@@ -123,9 +159,10 @@ public final class CcaBootstrap extends LazyDispatcher {
     }
 
     /**
-     * Defines a {@link ComponentKey} subclass for every statically declared component, as well as
-     * a global {@link ComponentProvider} specialized interface
-     * that declares a direct getter for every {@link ComponentKey} that has been scanned by plugins.
+     * Defines a {@link ComponentKey} subclass for every statically declared component.
+     *
+     * <p>Component retrieval is implemented once in {@link ComponentKey#getInternal(ComponentContainer)},
+     * using the slot assigned to each id, so the generated subclasses only need a constructor.
      *
      * @param staticComponentKeys the set of all statically declared {@link ComponentKey} ids
      * @return a map of {@link ComponentKey} ids to specialized implementations
@@ -135,60 +172,30 @@ public final class CcaBootstrap extends LazyDispatcher {
 
         for (Identifier componentId : staticComponentKeys) {
             /* generate the component type class */
-
-            ClassNode componentTypeWriter = new ClassNode(CcaAsmHelper.ASM_VERSION);
             String componentTypeName = CcaAsmHelper.getComponentTypeName(componentId);
-            componentTypeWriter.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL, componentTypeName, null, CcaAsmHelper.COMPONENT_TYPE, null);
-
-            MethodVisitor init = componentTypeWriter.visitMethod(Opcodes.ACC_PUBLIC, "<init>", COMPONENT_TYPE_INIT_DESC, null, null);
-            init.visitCode();
-            init.visitVarInsn(Opcodes.ALOAD, 0);
-            init.visitVarInsn(Opcodes.ALOAD, 1);
-            init.visitVarInsn(Opcodes.ALOAD, 2);
-            init.visitMethodInsn(Opcodes.INVOKESPECIAL, CcaAsmHelper.COMPONENT_TYPE, "<init>", COMPONENT_TYPE_INIT_DESC, false);
-            init.visitInsn(Opcodes.RETURN);
-            init.visitEnd();
-
-            MethodVisitor get = componentTypeWriter.visitMethod(Opcodes.ACC_PROTECTED, "getInternal", COMPONENT_TYPE_GET0_DESC, null, null);
-            get.visitCode();
-            get.visitVarInsn(Opcodes.ALOAD, 1);
-            // stack: object
-            get.visitTypeInsn(Opcodes.CHECKCAST, CcaAsmHelper.STATIC_COMPONENT_CONTAINER);
-            // stack: generatedComponentContainer
-            get.visitMethodInsn(Opcodes.INVOKEVIRTUAL, CcaAsmHelper.STATIC_COMPONENT_CONTAINER, CcaAsmHelper.getStaticStorageGetterName(componentId), CcaAsmHelper.STATIC_CONTAINER_GETTER_DESC, false);
-            // stack: component
-            get.visitInsn(Opcodes.ARETURN);
-            get.visitEnd();
-
-            @SuppressWarnings("unchecked") Class<? extends ComponentKey<?>> ct = (Class<? extends ComponentKey<?>>) CcaAsmHelper.generateClass(componentTypeWriter);
+            @SuppressWarnings("unchecked") Class<? extends ComponentKey<?>> ct = (Class<? extends ComponentKey<?>>) CcaAsmHelper.generateClass(
+                componentTypeName,
+                COMPONENT_TYPE_INIT_DESC,
+                () -> generateComponentKeyClass(componentTypeName)
+            );
             generatedComponentTypes.put(componentId, ct);
         }
         return generatedComponentTypes;
     }
 
-    /**
-     * Generate the component container interface implemented by all component containers
-     */
-    private void spinStaticContainerItf(Set<Identifier> staticComponentTypes) throws IOException {
-        ClassNode staticContainerWriter = new ClassNode(CcaAsmHelper.ASM_VERSION);
-        staticContainerWriter.visit(Opcodes.V1_8, Opcodes.ACC_ABSTRACT | Opcodes.ACC_PUBLIC, CcaAsmHelper.STATIC_COMPONENT_CONTAINER, null, CcaAsmHelper.DYNAMIC_COMPONENT_CONTAINER_IMPL, null);
+    private static ClassNode generateComponentKeyClass(String componentTypeName) {
+        ClassNode componentTypeWriter = new ClassNode(CcaAsmHelper.ASM_VERSION);
+        componentTypeWriter.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL, componentTypeName, null, CcaAsmHelper.COMPONENT_TYPE, null);
 
-        MethodVisitor init = staticContainerWriter.visitMethod(Opcodes.ACC_PUBLIC, "<init>", CcaAsmHelper.ABSTRACT_COMPONENT_CONTAINER_CTOR_DESC, null, null);
+        MethodVisitor init = componentTypeWriter.visitMethod(Opcodes.ACC_PUBLIC, "<init>", COMPONENT_TYPE_INIT_DESC, null, null);
         init.visitCode();
         init.visitVarInsn(Opcodes.ALOAD, 0);
-        init.visitMethodInsn(Opcodes.INVOKESPECIAL, CcaAsmHelper.DYNAMIC_COMPONENT_CONTAINER_IMPL, "<init>", CcaAsmHelper.ABSTRACT_COMPONENT_CONTAINER_CTOR_DESC, false);
+        init.visitVarInsn(Opcodes.ALOAD, 1);
+        init.visitVarInsn(Opcodes.ALOAD, 2);
+        init.visitMethodInsn(Opcodes.INVOKESPECIAL, CcaAsmHelper.COMPONENT_TYPE, "<init>", COMPONENT_TYPE_INIT_DESC, false);
         init.visitInsn(Opcodes.RETURN);
         init.visitEnd();
-
-        for (Identifier componentId : staticComponentTypes) {
-            MethodVisitor methodWriter = staticContainerWriter.visitMethod(Opcodes.ACC_PUBLIC, CcaAsmHelper.getStaticStorageGetterName(componentId), CcaAsmHelper.STATIC_CONTAINER_GETTER_DESC, null, null);
-            methodWriter.visitInsn(Opcodes.ACONST_NULL);
-            methodWriter.visitInsn(Opcodes.ARETURN);
-            methodWriter.visitEnd();
-        }
-
-        staticContainerWriter.visitEnd();
-        CcaAsmHelper.generateClass(staticContainerWriter);
+        return componentTypeWriter;
     }
 
 }
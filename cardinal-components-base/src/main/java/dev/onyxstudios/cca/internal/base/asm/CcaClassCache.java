@@ -0,0 +1,177 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2023 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.internal.base.asm;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import dev.onyxstudios.cca.internal.base.ComponentsInternals;
+import net.fabricmc.loader.api.FabricLoader;
+import net.fabricmc.loader.api.ModContainer;
+import net.fabricmc.loader.api.metadata.ModMetadata;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * A persistent cache for the bytecode of generated classes.
+ *
+ * <p>Entries are stored in a directory named after a hash of the loaded mod set and runtime mappings,
+ * so that any change to the installed mods invalidates the whole cache. Inside that directory, each entry is keyed by
+ * the generated class' name and a description of the inputs it was generated from, such as registered factories.
+ * Directories left by other mod sets are deleted on startup.
+ *
+ * <p>The cache is disabled in development environments, where mod versions do not reflect code changes,
+ * when {@linkplain CcaAsmHelper#DEBUG_CLASSES debugging generated classes}, or by setting the {@code cca.asm.cache}
+ * system property to {@code false}. Any failure to read or write the cache is logged and otherwise ignored.
+ */
+public final class CcaClassCache {
+    /**
+     * Version of the code generation scheme, to be incremented whenever generated bytecode changes
+     */
+    private static final int FORMAT_VERSION = 4;
+    public static final CcaClassCache INSTANCE = create();
+
+    private final @Nullable Path directory;
+
+    private CcaClassCache(@Nullable Path directory) {
+        this.directory = directory;
+    }
+
+    private static CcaClassCache create() {
+        if (CcaAsmHelper.DEBUG_CLASSES || !Boolean.parseBoolean(System.getProperty("cca.asm.cache", "true"))) {
+            return new CcaClassCache(null);
+        }
+
+        try {
+            FabricLoader loader = FabricLoader.getInstance();
+
+            if (loader.isDevelopmentEnvironment()) {
+                return new CcaClassCache(null);
+            }
+
+            Path root = loader.getGameDir().resolve(".cache").resolve("cardinal-components");
+            Path directory = root.resolve(computeModSetHash(loader));
+            Files.createDirectories(directory);
+            deleteStaleEntries(root, directory);
+            return new CcaClassCache(directory);
+        } catch (IOException | RuntimeException e) {
+            ComponentsInternals.LOGGER.warn("Failed to set up the generated class cache, classes will be generated on every launch", e);
+            return new CcaClassCache(null);
+        }
+    }
+
+    private static String computeModSetHash(FabricLoader loader) {
+        Hasher hasher = Hashing.sha256().newHasher();
+        hasher.putInt(FORMAT_VERSION);
+        hasher.putString(loader.getMappingResolver().getCurrentRuntimeNamespace(), StandardCharsets.UTF_8);
+        List<ModMetadata> mods = loader.getAllMods().stream()
+            .map(ModContainer::getMetadata)
+            .sorted(Comparator.comparing(ModMetadata::getId))
+            .toList();
+
+        for (ModMetadata mod : mods) {
+            hasher.putString(mod.getId(), StandardCharsets.UTF_8);
+            hasher.putChar('@');
+            hasher.putString(mod.getVersion().getFriendlyString(), StandardCharsets.UTF_8);
+            hasher.putChar('\n');
+        }
+
+        return hasher.hash().toString();
+    }
+
+    private static void deleteStaleEntries(Path root, Path current) throws IOException {
+        try (Stream<Path> modSets = Files.list(root)) {
+            for (Path modSet : modSets.filter(p -> !p.equals(current)).toList()) {
+                try (Stream<Path> files = Files.walk(modSet)) {
+                    // delete children before their parent directory
+                    for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                        Files.deleteIfExists(file);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @param className the internal name of a generated class
+     * @param inputs    a description of everything the class' bytecode depends on, apart from the mod set
+     * @return the cached bytecode, or {@code null} if it is not cached
+     */
+    @Nullable
+    public byte[] get(String className, String inputs) {
+        if (this.directory == null) return null;
+
+        try {
+            return Files.readAllBytes(this.getEntry(className, inputs));
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            ComponentsInternals.LOGGER.warn("Failed to read cached class {}", className, e);
+            return null;
+        }
+    }
+
+    public void put(String className, String inputs, byte[] bytes) {
+        if (this.directory == null) return;
+
+        Path entry = this.getEntry(className, inputs);
+
+        try {
+            // write to a temporary file first, so that a crash never leaves a truncated entry
+            Path tmp = Files.createTempFile(this.directory, entry.getFileName().toString(), ".tmp");
+
+            try {
+                Files.write(tmp, bytes);
+                Files.move(tmp, entry, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        } catch (IOException e) {
+            ComponentsInternals.LOGGER.warn("Failed to cache generated class {}", className, e);
+        }
+    }
+
+    public void invalidate(String className, String inputs) {
+        if (this.directory == null) return;
+
+        try {
+            Files.deleteIfExists(this.getEntry(className, inputs));
+        } catch (IOException e) {
+            ComponentsInternals.LOGGER.warn("Failed to delete cached class {}", className, e);
+        }
+    }
+
+    private Path getEntry(String className, String inputs) {
+        assert this.directory != null;
+        String inputHash = Hashing.sha256().hashString(inputs, StandardCharsets.UTF_8).toString().substring(0, 16);
+        return this.directory.resolve(className.replace('/', '.') + '-' + inputHash + ".class");
+    }
+}
@@ -26,6 +26,11 @@ package dev.onyxstudios.cca.internal.base.asm;
  * A class loader allowing the creation of any class from its bytecode, as well as its injection into the classpath
  */
 public class CcaClassLoader extends ClassLoader {
+    static {
+        // container classes may be generated from several threads at once during the warm-up
+        ClassLoader.registerAsParallelCapable();
+    }
+
     public static final CcaClassLoader INSTANCE = new CcaClassLoader();
 
     private CcaClassLoader() {
@@ -101,9 +101,23 @@ public abstract class StaticComponentPluginBase<T, I> extends LazyDispatcher {
 
         String containerCtorDesc = Type.getConstructorDescriptor(constructors[0]);
         String containerImplName = Type.getInternalName(containerImpl);
-        ClassNode containerFactoryWriter = new ClassNode(CcaAsmHelper.ASM_VERSION);
         String factoryImplName = CcaAsmHelper.STATIC_CONTAINER_FACTORY + '_' + implNameSuffix;
+        // copied from the container, so that callers can tell whether it ticks without creating one
+        boolean hasServerTickers = CcaAsmHelper.hasTickers(containerImpl, false);
+        boolean hasClientTickers = CcaAsmHelper.hasTickers(containerImpl, true);
+        String inputs = containerFactoryType.getName() + Type.getMethodDescriptor(factorySam) + ' ' + containerImplName + containerCtorDesc + ' ' + actualFactoryParams + ' ' + hasServerTickers + ' ' + hasClientTickers;
+        @SuppressWarnings("unchecked") Class<? extends I> ret = (Class<? extends I>) CcaAsmHelper.generateClass(
+            factoryImplName,
+            inputs,
+            () -> generateContainerFactoryClass(factoryImplName, containerFactoryType, factorySam, factoryArgs, containerImplName, containerCtorDesc, actualFactoryParams, hasServerTickers, hasClientTickers)
+        );
+        return ret;
+    }
+
+    private static ClassNode generateContainerFactoryClass(String factoryImplName, Class<?> containerFactoryType, Method factorySam, Type[] factoryArgs, String containerImplName, String containerCtorDesc, List<Class<?>> actualFactoryParams, boolean hasServerTickers, boolean hasClientTickers) {
+        ClassNode containerFactoryWriter = new ClassNode(CcaAsmHelper.ASM_VERSION);
         containerFactoryWriter.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL, factoryImplName, null, "java/lang/Object", new String[]{Type.getInternalName(containerFactoryType)});
+        CcaAsmHelper.generateCapabilityFlags(containerFactoryWriter, hasServerTickers, hasClientTickers);
         MethodVisitor init = containerFactoryWriter.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
         init.visitVarInsn(Opcodes.ALOAD, 0);
         init.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
@@ -125,8 +139,7 @@ public abstract class StaticComponentPluginBase<T, I> extends LazyDispatcher {
         createContainer.visitInsn(Opcodes.ARETURN);
         createContainer.visitEnd();
         containerFactoryWriter.visitEnd();
-        @SuppressWarnings("unchecked") Class<? extends I> ret = (Class<? extends I>) CcaAsmHelper.generateClass(containerFactoryWriter);
-        return ret;
+        return containerFactoryWriter;
     }
 
     public static ComponentContainer createEmptyContainer() {
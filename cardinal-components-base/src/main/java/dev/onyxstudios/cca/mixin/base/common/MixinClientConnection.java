@@ -0,0 +1,58 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2023 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.mixin.base.common;
+
+import dev.onyxstudios.cca.internal.base.ComponentNetworkIds;
+import dev.onyxstudios.cca.internal.base.ComponentSyncScheduler;
+import io.netty.channel.Channel;
+import net.minecraft.network.ClientConnection;
+import org.jetbrains.annotations.Nullable;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.Unique;
+
+import java.util.BitSet;
+
+@Mixin(ClientConnection.class)
+public abstract class MixinClientConnection implements ComponentNetworkIds.MappedComponentConnection, ComponentSyncScheduler.ThrottledConnection {
+    @Shadow
+    private Channel channel;
+
+    @Unique
+    private volatile @Nullable BitSet cca$mappedKeySlots;
+
+    @Override
+    public @Nullable BitSet cca$getMappedKeySlots() {
+        return this.cca$mappedKeySlots;
+    }
+
+    @Override
+    public void cca$setMappedKeySlots(BitSet slots) {
+        this.cca$mappedKeySlots = slots;
+    }
+
+    @Override
+    public boolean cca$isWritable() {
+        return this.channel == null || this.channel.isWritable();
+    }
+}
@@ -31,6 +31,8 @@ import net.minecraft.test.GameTest;
 import net.minecraft.util.Identifier;
 import org.junit.Assert;
 
+import java.util.stream.Stream;
+
 public class ComponentRegistryImplTest implements CardinalGameTest {
 
     @SuppressWarnings({"unchecked", "rawtypes"})
@@ -53,6 +55,16 @@ public class ComponentRegistryImplTest implements CardinalGameTest {
         Assert.assertEquals(1, registry.stream().map(ComponentKey::getId).filter(CcaTesting.ALL_TEST_IDS::contains).count());
     }
 
+    @GameTest(templateName = FabricGameTest.EMPTY_STRUCTURE)
+    public void lookupsSeePublishedKeys() {
+        ComponentRegistryImpl registry = ComponentRegistryImpl.INSTANCE;
+        Stream<ComponentKey<?>> before = registry.stream();
+        ComponentKey<?> type = registry.getOrCreate(CcaTesting.TEST_ID_1, TestComponentItf.class);
+        Assert.assertSame(type, registry.get(CcaTesting.TEST_ID_1));
+        Assert.assertNull(registry.get(new Identifier("cca-base-test", "undeclared")));
+        Assert.assertFalse("Streams should not see keys registered after their creation", before.anyMatch(k -> k == type));
+    }
+
     @Override
     public void tearDown() {
         for (Identifier id : CcaTesting.ALL_TEST_IDS) {
@@ -0,0 +1,125 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2023 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.internal.base;
+
+import dev.onyxstudios.cca.api.v3.component.sync.DeltaSyncedComponent;
+import dev.onyxstudios.cca.test.base.CardinalGameTest;
+import io.netty.buffer.Unpooled;
+import net.fabricmc.fabric.api.gametest.v1.FabricGameTest;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.test.GameTest;
+import org.junit.Assert;
+
+public class DeltaSyncedComponentTest implements CardinalGameTest {
+    @GameTest(templateName = FabricGameTest.EMPTY_STRUCTURE)
+    public void deltaPacketsOnlyCarryChangedFields() {
+        Stats server = new Stats();
+        Stats client = new Stats();
+        server.setHealth(10);
+        server.setMana(20);
+        server.setChangedFields(0);
+        server.setMana(25);
+
+        PacketByteBuf buf = new PacketByteBuf(Unpooled.buffer());
+        server.writeSyncPacket(buf, null);
+        client.applySyncPacket(buf);
+        Assert.assertEquals(0, client.health);
+        Assert.assertEquals(25, client.mana);
+        Assert.assertFalse(buf.isReadable());
+    }
+
+    @GameTest(templateName = FabricGameTest.EMPTY_STRUCTURE)
+    public void fullPacketsCarryEveryField() {
+        Stats server = new Stats();
+        Stats client = new Stats();
+        server.setHealth(10);
+        server.setMana(20);
+        server.setChangedFields(0);
+
+        PacketByteBuf buf = new PacketByteBuf(Unpooled.buffer());
+        server.writeFullSyncPacket(buf, null);
+        client.applySyncPacket(buf);
+        Assert.assertEquals(10, client.health);
+        Assert.assertEquals(20, client.mana);
+        Assert.assertFalse(buf.isReadable());
+    }
+
+    public static class Stats implements DeltaSyncedComponent {
+        private static final int HEALTH = 0;
+        private static final int MANA = 1;
+
+        private int health;
+        private int mana;
+        private long changedFields;
+
+        public void setHealth(int health) {
+            this.health = health;
+            this.markFieldChanged(HEALTH);
+        }
+
+        public void setMana(int mana) {
+            this.mana = mana;
+            this.markFieldChanged(MANA);
+        }
+
+        @Override
+        public int getSyncedFieldCount() {
+            return 2;
+        }
+
+        @Override
+        public long getChangedFields() {
+            return this.changedFields;
+        }
+
+        @Override
+        public void setChangedFields(long changedFields) {
+            this.changedFields = changedFields;
+        }
+
+        @Override
+        public void writeField(int field, PacketByteBuf buf, ServerPlayerEntity recipient) {
+            buf.writeVarInt(field == HEALTH ? this.health : this.mana);
+        }
+
+        @Override
+        public void readField(int field, PacketByteBuf buf) {
+            if (field == HEALTH) this.health = buf.readVarInt();
+            else this.mana = buf.readVarInt();
+        }
+
+        @Override
+        public void readFromNbt(NbtCompound tag) {
+            this.health = tag.getInt("health");
+            this.mana = tag.getInt("mana");
+        }
+
+        @Override
+        public void writeToNbt(NbtCompound tag) {
+            tag.putInt("health", this.health);
+            tag.putInt("mana", this.mana);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2023 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.internal.base;
+
+import dev.onyxstudios.cca.api.v3.component.ComponentContainer;
+import dev.onyxstudios.cca.api.v3.component.ComponentProvider;
+import dev.onyxstudios.cca.test.base.CardinalGameTest;
+import dev.onyxstudios.cca.test.base.SyncedVita;
+import dev.onyxstudios.cca.test.base.Vita;
+import net.fabricmc.fabric.api.gametest.v1.FabricGameTest;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.test.GameTest;
+import org.junit.Assert;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class PendingComponentSyncsTest implements CardinalGameTest {
+    @GameTest(templateName = FabricGameTest.EMPTY_STRUCTURE)
+    public void pendingSyncsAreSentOncePerTick() {
+        AtomicInteger syncs = new AtomicInteger();
+        ComponentContainer container = ComponentContainer.Factory.builder()
+            .component(Vita.KEY, v -> new SyncedVita(null))
+            .build()
+            .createContainer(null);
+        ComponentProvider provider = new ComponentProvider() {
+            @Override
+            public ComponentContainer getComponentContainer() {
+                return container;
+            }
+
+            @Override
+            public Iterable<ServerPlayerEntity> getRecipientsForComponentSync() {
+                syncs.incrementAndGet();
+                return List.of();
+            }
+        };
+
+        PendingComponentSyncs.mark(provider, Vita.KEY);
+        PendingComponentSyncs.mark(provider, Vita.KEY);
+        PendingComponentSyncs.mark(provider, Vita.KEY);
+        Assert.assertEquals(0, syncs.get());
+        PendingComponentSyncs.flush();
+        Assert.assertEquals(1, syncs.get());
+        PendingComponentSyncs.flush();
+        Assert.assertEquals(1, syncs.get());
+    }
+}
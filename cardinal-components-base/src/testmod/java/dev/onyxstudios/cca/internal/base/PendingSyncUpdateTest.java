@@ -0,0 +1,56 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2023 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.internal.base;
+
+import dev.onyxstudios.cca.test.base.CardinalGameTest;
+import dev.onyxstudios.cca.test.base.SyncedVita;
+import dev.onyxstudios.cca.test.base.Vita;
+import io.netty.buffer.Unpooled;
+import net.fabricmc.fabric.api.gametest.v1.FabricGameTest;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.test.GameTest;
+import org.junit.Assert;
+
+public class PendingSyncUpdateTest implements CardinalGameTest {
+    @GameTest(templateName = FabricGameTest.EMPTY_STRUCTURE)
+    public void undecodedUpdatesOutliveTheReceivedBuffer() {
+        NbtCompound tag = new NbtCompound();
+        tag.putInt("vitality", 7);
+        PacketByteBuf buf = new PacketByteBuf(Unpooled.buffer());
+        buf.writeInt(42);
+        buf.writeNbt(tag);
+
+        Assert.assertEquals(42, buf.readInt());
+        PendingSyncUpdate update = PendingSyncUpdate.read(Vita.KEY, buf);
+        Assert.assertFalse(buf.isReadable());
+        // the networking layer releases the packet before the update gets applied
+        buf.release();
+
+        SyncedVita client = new SyncedVita(null);
+        update.apply(client);
+        Assert.assertEquals(7, client.getVitality());
+        update.release();
+        Assert.assertEquals(0, buf.refCnt());
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2023 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.internal.base;
+
+import dev.onyxstudios.cca.api.v3.component.ComponentContainer;
+import dev.onyxstudios.cca.api.v3.component.ComponentKey;
+import dev.onyxstudios.cca.api.v3.component.ComponentProvider;
+import dev.onyxstudios.cca.api.v3.component.sync.AutoSyncedComponent;
+import dev.onyxstudios.cca.api.v3.component.sync.ComponentPacketWriter;
+import dev.onyxstudios.cca.api.v3.component.sync.PlayerSyncPredicate;
+import dev.onyxstudios.cca.api.v3.component.sync.RecipientIndependentPacketWriter;
+import dev.onyxstudios.cca.test.base.SyncedVita;
+import dev.onyxstudios.cca.test.base.Vita;
+import io.github.ladysnake.elmendorf.ElmendorfTestContext;
+import io.netty.buffer.Unpooled;
+import net.fabricmc.fabric.api.gametest.v1.FabricGameTest;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.network.packet.s2c.play.CustomPayloadS2CPacket;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.test.GameTest;
+import net.minecraft.test.TestContext;
+import org.jetbrains.annotations.Nullable;
+import org.junit.Assert;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SharedPayloadSyncTest implements FabricGameTest {
+    @GameTest(templateName = FabricGameTest.EMPTY_STRUCTURE)
+    public void recipientIndependentWritersRunOnce(TestContext ctx) {
+        List<ServerPlayerEntity> players = List.of(
+            ((ElmendorfTestContext) ctx).spawnServerPlayer(0, 0, 0),
+            ((ElmendorfTestContext) ctx).spawnServerPlayer(1, 0, 1),
+            ((ElmendorfTestContext) ctx).spawnServerPlayer(2, 0, 2)
+        );
+        AtomicInteger writes = new AtomicInteger();
+        RecipientIndependentPacketWriter writer = (buf, recipient) -> {
+            writes.incrementAndGet();
+            buf.writeVarInt(42);
+            buf.writeString("shared");
+        };
+        RecordingProvider provider = new RecordingProvider(players);
+
+        Vita.KEY.sync(provider, writer, PlayerSyncPredicate.all());
+
+        Assert.assertEquals(1, writes.get());
+        Assert.assertEquals(players, provider.recipients);
+        Assert.assertEquals(players.size(), provider.packets.size());
+
+        for (PacketByteBuf packet : provider.packets) {
+            // every packet starts with its own header, followed by the shared data
+            Assert.assertEquals(Vita.KEY.getId(), packet.readIdentifier());
+            Assert.assertEquals(42, packet.readVarInt());
+            Assert.assertEquals("shared", packet.readString());
+            Assert.assertFalse(packet.isReadable());
+            packet.release();
+        }
+
+        ctx.complete();
+    }
+
+    /**
+     * Records the packets it would send instead of sending them.
+     */
+    private static final class RecordingProvider implements ComponentProvider {
+        private final ComponentContainer container = ComponentContainer.Factory.builder()
+            .component(Vita.KEY, v -> new SyncedVita(null))
+            .build()
+            .createContainer(null);
+        private final List<ServerPlayerEntity> players;
+        final List<ServerPlayerEntity> recipients = new ArrayList<>();
+        final List<PacketByteBuf> packets = new ArrayList<>();
+
+        RecordingProvider(List<ServerPlayerEntity> players) {
+            this.players = players;
+        }
+
+        @Override
+        public ComponentContainer getComponentContainer() {
+            return this.container;
+        }
+
+        @Override
+        public Iterable<ServerPlayerEntity> getRecipientsForComponentSync() {
+            return this.players;
+        }
+
+        @Override
+        public <C extends AutoSyncedComponent> @Nullable CustomPayloadS2CPacket toComponentPacket(ComponentKey<? super C> key, ComponentPacketWriter writer, ServerPlayerEntity recipient) {
+            PacketByteBuf buf = new PacketByteBuf(Unpooled.buffer());
+            buf.writeIdentifier(key.getId());
+            writer.writeSyncPacket(buf, recipient);
+            this.recipients.add(recipient);
+            this.packets.add(buf);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,320 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2023 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.internal.base;
+
+import dev.onyxstudios.cca.api.v3.component.ComponentContainer;
+import dev.onyxstudios.cca.api.v3.component.ComponentRegistry;
+import dev.onyxstudios.cca.api.v3.component.DirtyTrackingComponent;
+import dev.onyxstudios.cca.internal.base.asm.CcaAsmHelper;
+import dev.onyxstudios.cca.test.base.BaseVita;
+import dev.onyxstudios.cca.test.base.CardinalGameTest;
+import dev.onyxstudios.cca.test.base.TickingTestComponent;
+import net.fabricmc.fabric.api.gametest.v1.FabricGameTest;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtList;
+import net.minecraft.test.GameTest;
+import net.minecraft.util.Identifier;
+import org.junit.Assert;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+public class SlottedComponentContainerTest implements CardinalGameTest {
+    @Override
+    public void tearDown() {
+        for (Identifier id : CcaTesting.ALL_TEST_IDS) {
+            ComponentRegistryImpl.INSTANCE.clear(id);
+        }
+    }
+
+    @GameTest(templateName = FabricGameTest.EMPTY_STRUCTURE)
+    public void slotsResolveContainerComponents() {
+        var key1 = ComponentRegistry.getOrCreate(CcaTesting.TEST_ID_1, ComponentRegistryImplTest.TestComponentNotItf.class);
+        var key2 = ComponentRegistry.getOrCreate(CcaTesting.TEST_ID_2, ComponentRegistryImplTest.TestComponentNotItf.class);
+        var key3 = ComponentRegistry.getOrCreate(CcaTesting.TEST_ID_3, ComponentRegistryImplTest.TestComponentNotItf.class);
+        var component1 = new ComponentRegistryImplTest.TestComponentNotItf();
+        var component3 = new ComponentRegistryImplTest.TestComponentNotItf();
+        ComponentContainer container = ComponentContainer.Factory.builder()
+            .component(key3, v -> component3)
+            .component(key1, v -> component1)
+            .build()
+            .createContainer(null);
+        Assert.assertNotEquals(key1.getSlot(), key2.getSlot());
+        Assert.assertSame(component1, key1.getInternal(container));
+        Assert.assertSame(component3, key3.getInternal(container));
+        Assert.assertNull(key2.getInternal(container));
+        Assert.assertNull(key1.getInternal(ComponentContainer.EMPTY));
+    }
+
+    @GameTest(templateName = FabricGameTest.EMPTY_STRUCTURE)
+    public void keySetIsOrderedAndImmutable() {
+        var key1 = ComponentRegistry.getOrCreate(CcaTesting.TEST_ID_1, ComponentRegistryImplTest.TestComponentNotItf.class);
+        var key2 = ComponentRegistry.getOrCreate(CcaTesting.TEST_ID_2, ComponentRegistryImplTest.TestComponentNotItf.class);
+        var key3 = ComponentRegistry.getOrCreate(CcaTesting.TEST_ID_3, ComponentRegistryImplTest.TestComponentNotItf.class);
+        ComponentContainer container = ComponentContainer.Factory.builder()
+            .component(key3, v -> new ComponentRegistryImplTest.TestComponentNotItf())
+            .component(key1, v -> new ComponentRegistryImplTest.TestComponentNotItf())
+            .build()
+            .createContainer(null);
+        Assert.assertEquals(List.of(key3, key1), List.copyOf(container.keys()));
+        Assert.assertTrue(container.keys().contains(key1));
+        Assert.assertFalse(container.keys().contains(key2));
+        Assert.assertFalse(container.keys().contains(new Object()));
+        Assert.assertThrows(UnsupportedOperationException.class, () -> container.keys().remove(key1));
+        Assert.assertThrows(UnsupportedOperationException.class, () -> container.keys().add(key2));
+    }
+
+    @GameTest(templateName = FabricGameTest.EMPTY_STRUCTURE)
+    public void generatedSerializationRoundTrips() {
+        var key1 = ComponentRegistry.getOrCreate(CcaTesting.TEST_ID_1, BaseVita.class);
+        var key2 = ComponentRegistry.getOrCreate(CcaTesting.TEST_ID_2, BaseVita.class);
+        ComponentContainer.Factory<Void> factory = ComponentContainer.Factory.builder()
+            .component(key1, v -> new BaseVita(3))
+            .component(key2, v -> new SilentVita())
+            .build();
+        NbtCompound tag = factory.createContainer(null).toTag(new NbtCompound());
+        NbtCompound componentMap = tag.getCompound(AbstractComponentContainer.NBT_KEY);
+        Assert.assertEquals("Empty component tags should be skipped", Set.of(CcaTesting.TEST_ID_1.toString()), componentMap.getKeys());
+        ComponentContainer deserialized = factory.createContainer(null);
+        deserialized.fromTag(tag);
+        Assert.assertEquals(3, key1.get(deserialized).getVitality());
+        Assert.assertEquals(0, key2.get(deserialized).getVitality());
+    }
+
+    @GameTest(templateName = FabricGameTest.EMPTY_STRUCTURE)
+    public void legacyListFormatResolvesIds() {
+        var key1 = ComponentRegistry.getOrCreate(CcaTesting.TEST_ID_1, BaseVita.class);
+        var key2 = ComponentRegistry.getOrCreate(CcaTesting.TEST_ID_2, BaseVita.class);
+        ComponentContainer container = ComponentContainer.Factory.builder()
+            .component(key1, v -> new BaseVita())
+            .component(key2, v -> new BaseVita())
+            .build()
+            .createContainer(null);
+        NbtList componentList = new NbtList();
+        componentList.add(legacyComponentTag(CcaTesting.TEST_ID_2.toString(), 7));
+        componentList.add(legacyComponentTag("testmod:unknown", 8));
+        componentList.add(legacyComponentTag(CcaTesting.TEST_ID_1.toString(), 5));
+        NbtCompound tag = new NbtCompound();
+        tag.put(AbstractComponentContainer.NBT_KEY, componentList);
+        container.fromTag(tag);
+        Assert.assertEquals(5, key1.get(container).getVitality());
+        Assert.assertEquals(7, key2.get(container).getVitality());
+    }
+
+    @GameTest(templateName = FabricGameTest.EMPTY_STRUCTURE)
+    public void lazyComponentsAreCreatedOnAccess() {
+        var key1 = ComponentRegistry.getOrCreate(CcaTesting.TEST_ID_1, BaseVita.class);
+        var key2 = ComponentRegistry.getOrCreate(CcaTesting.TEST_ID_2, BaseVita.class);
+        AtomicInteger created = new AtomicInteger();
+        ComponentContainer.Factory<Void> factory = ComponentContainer.Factory.builder()
+            .component(key1, v -> new BaseVita(3))
+            .lazyComponent(key2, v -> {
+                created.incrementAndGet();
+                return new BaseVita(4);
+            })
+            .build();
+        ComponentContainer container = factory.createContainer(null);
+        Assert.assertEquals(0, created.get());
+        NbtCompound tag = container.toTag(new NbtCompound());
+        Assert.assertEquals("Lazy components should not be saved before being created", Set.of(CcaTesting.TEST_ID_1.toString()), tag.getCompound(AbstractComponentContainer.NBT_KEY).getKeys());
+        Assert.assertEquals(0, created.get());
+        BaseVita lazy = key2.get(container);
+        Assert.assertEquals(1, created.get());
+        Assert.assertSame(lazy, key2.get(container));
+        Assert.assertEquals(1, created.get());
+        lazy.setVitality(7);
+        tag = container.toTag(new NbtCompound());
+        ComponentContainer deserialized = factory.createContainer(null);
+        deserialized.fromTag(tag);
+        Assert.assertEquals("Lazy components should be created when there is data to read", 2, created.get());
+        Assert.assertEquals(7, key2.get(deserialized).getVitality());
+    }
+
+    @GameTest(templateName = FabricGameTest.EMPTY_STRUCTURE)
+    public void eagerDependentsForceLazyCreation() {
+        var key1 = ComponentRegistry.getOrCreate(CcaTesting.TEST_ID_1, BaseVita.class);
+        var key2 = ComponentRegistry.getOrCreate(CcaTesting.TEST_ID_2, BaseVita.class);
+        AtomicInteger created = new AtomicInteger();
+        ComponentContainer container = ComponentContainer.Factory.builder()
+            .lazyComponent(key1, v -> {
+                created.incrementAndGet();
+                return new BaseVita();
+            })
+            .component(key2, BaseVita.class, v -> new BaseVita(), Set.of(key1))
+            .build()
+            .createContainer(null);
+        Assert.assertEquals(1, created.get());
+        key1.get(container);
+        Assert.assertEquals(1, created.get());
+    }
+
+    @GameTest(templateName = FabricGameTest.EMPTY_STRUCTURE)
+    public void dirtyComponentsAreTracked() {
+        var key1 = ComponentRegistry.getOrCreate(CcaTesting.TEST_ID_1, BaseVita.class);
+        var key2 = ComponentRegistry.getOrCreate(CcaTesting.TEST_ID_2, BaseVita.class);
+        ComponentContainer.Factory<Void> factory = ComponentContainer.Factory.builder()
+            .component(key1, v -> new TrackedVita())
+            .lazyComponent(key2, v -> new BaseVita())
+            .build();
+        ComponentContainer container = factory.createContainer(null);
+        Assert.assertFalse(container.hasDirtyComponents());
+        Assert.assertFalse("Lazy components should not count before being created", container.hasUntrackedComponents());
+        key1.get(container).setVitality(2);
+        Assert.assertTrue(container.hasDirtyComponents());
+        container.clearDirtyComponents();
+        Assert.assertFalse(container.hasDirtyComponents());
+        key2.get(container);
+        Assert.assertTrue(container.hasUntrackedComponents());
+    }
+
+    @GameTest(templateName = FabricGameTest.EMPTY_STRUCTURE)
+    public void warmUpBuildsEveryFactory() {
+        var key1 = ComponentRegistry.getOrCreate(CcaTesting.TEST_ID_1, BaseVita.class);
+        Map<Integer, Supplier<ComponentContainer.Factory<Void>>> builders = new LinkedHashMap<>();
+        for (int i = 0; i < 8; i++) {
+            int vitality = i;
+            builders.put(i, ComponentContainer.Factory.builder().component(key1, v -> new BaseVita(vitality))::build);
+        }
+        Map<Integer, ComponentContainer.Factory<Void>> factories = ContainerFactoryWarmUp.buildAll("test", builders);
+        Assert.assertEquals(List.copyOf(builders.keySet()), List.copyOf(factories.keySet()));
+        factories.forEach((vitality, factory) -> Assert.assertEquals((int) vitality, key1.get(factory.createContainer(null)).getVitality()));
+    }
+
+    @GameTest(templateName = FabricGameTest.EMPTY_STRUCTURE)
+    public void capabilityFlagsReflectTickingComponents() {
+        var key1 = ComponentRegistry.getOrCreate(CcaTesting.TEST_ID_1, ComponentRegistryImplTest.TestComponentNotItf.class);
+        var idle = ComponentContainer.Factory.builder()
+            .component(key1, v -> new ComponentRegistryImplTest.TestComponentNotItf())
+            .build();
+        var ticking = ComponentContainer.Factory.builder()
+            .component(key1, v -> new ComponentRegistryImplTest.TestComponentNotItf())
+            .component(TickingTestComponent.KEY, v -> new TickingTestComponent())
+            .build();
+        var empty = ComponentContainer.Factory.builder().build();
+        Assert.assertFalse(CcaAsmHelper.hasTickers(idle.getClass(), false));
+        Assert.assertFalse(CcaAsmHelper.hasTickers(idle.getClass(), true));
+        Assert.assertFalse(CcaAsmHelper.hasTickers(idle.createContainer(null).getClass(), false));
+        Assert.assertTrue(CcaAsmHelper.hasTickers(ticking.getClass(), false));
+        Assert.assertTrue(CcaAsmHelper.hasTickers(ticking.getClass(), true));
+        Assert.assertTrue(CcaAsmHelper.hasTickers(ticking.createContainer(null).getClass(), false));
+        Assert.assertFalse(CcaAsmHelper.hasTickers(empty.getClass(), false));
+    }
+
+    @GameTest(templateName = FabricGameTest.EMPTY_STRUCTURE)
+    public void profilerRecordsTicksOnlyWhileEnabled() {
+        ComponentContainer container = ComponentContainer.Factory.builder()
+            .component(TickingTestComponent.KEY, v -> new TickingTestComponent())
+            .factoryNameSuffix("ProfiledTicks")
+            .build()
+            .createContainer(null);
+        ComponentTickProfiler.Counter counter = ComponentTickProfiler.getCounter(TickingTestComponent.KEY, "ProfiledTicks", false);
+
+        try {
+            container.tickServerComponents();
+            ComponentTickProfiler.start();
+            container.tickServerComponents();
+            container.tickServerComponents();
+            container.tickClientComponents();
+        } finally {
+            ComponentTickProfiler.stop();
+        }
+
+        container.tickServerComponents();
+        Assert.assertEquals(4, TickingTestComponent.KEY.get(container).serverTicks());
+        Assert.assertEquals(2, counter.getInvocations());
+        Assert.assertEquals(1, ComponentTickProfiler.getCounter(TickingTestComponent.KEY, "ProfiledTicks", true).getInvocations());
+        Assert.assertTrue(ComponentTickProfiler.getResults().contains(counter));
+    }
+
+    @GameTest(templateName = FabricGameTest.EMPTY_STRUCTURE)
+    public void profilerRecordsSerializationCosts() {
+        var key1 = ComponentRegistry.getOrCreate(CcaTesting.TEST_ID_1, BaseVita.class);
+        var key2 = ComponentRegistry.getOrCreate(CcaTesting.TEST_ID_2, BaseVita.class);
+        var factory = ComponentContainer.Factory.builder()
+            .component(key1, v -> new BaseVita(3))
+            .component(key2, v -> new SilentVita())
+            .factoryNameSuffix("ProfiledSerialization")
+            .build();
+        ComponentContainer source = factory.createContainer(null);
+        ComponentContainer target = factory.createContainer(null);
+        NbtCompound expected = source.toTag(new NbtCompound());
+        NbtCompound actual;
+
+        try {
+            ComponentSerializationProfiler.start();
+            actual = source.toTag(new NbtCompound());
+            target.fromTag(actual.copy());
+        } finally {
+            ComponentSerializationProfiler.stop();
+        }
+
+        Assert.assertEquals(expected, actual);
+        Assert.assertEquals(3, key1.get(target).getVitality());
+        var counter1 = ComponentSerializationProfiler.getCounter(key1, "ProfiledSerialization");
+        var counter2 = ComponentSerializationProfiler.getCounter(key2, "ProfiledSerialization");
+        Assert.assertEquals(1, counter1.getWrites());
+        Assert.assertEquals(1, counter1.getReads());
+        Assert.assertEquals(ComponentSerializationProfiler.measure(actual.getCompound(AbstractComponentContainer.NBT_KEY).getCompound(CcaTesting.TEST_ID_1.toString())), counter1.getWrittenBytes());
+        Assert.assertEquals(1, counter2.getWrites());
+        Assert.assertEquals(0, counter2.getWrittenBytes());
+        Assert.assertEquals(0, counter2.getReads());
+    }
+
+    private static NbtCompound legacyComponentTag(String componentId, int vitality) {
+        NbtCompound nbt = new NbtCompound();
+        nbt.putString("componentId", componentId);
+        nbt.putInt("vitality", vitality);
+        return nbt;
+    }
+
+    public static class TrackedVita extends BaseVita implements DirtyTrackingComponent {
+        private boolean dirty;
+
+        @Override
+        public void setVitality(int value) {
+            super.setVitality(value);
+            this.markDirty();
+        }
+
+        @Override
+        public boolean isDirty() {
+            return this.dirty;
+        }
+
+        @Override
+        public void setDirty(boolean dirty) {
+            this.dirty = dirty;
+        }
+    }
+
+    public static class SilentVita extends BaseVita {
+        @Override
+        public void writeToNbt(NbtCompound tag) {
+            // NO-OP
+        }
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2023 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.internal.base;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+/**
+ * Compares the two component lookup strategies used by generated containers:
+ * <ul>
+ *     <li>{@code virtualGetter}: one {@code get$<id>} method per key, overridden by every container class</li>
+ *     <li>{@code slotLookup}: a final lookup through a per-class slot table and a dense component array,
+ *     as implemented by {@link SlottedComponentContainer}</li>
+ * </ul>
+ *
+ * <p>Both shapes are reproduced with plain classes, so that the benchmark runs without a game bootstrap.
+ * The {@code shapes} parameter controls how many distinct container classes are seen by the lookup call site,
+ * ranging from monomorphic to megamorphic.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ComponentAccessBenchmark {
+    private static final int CONTAINER_COUNT = 1024;
+    private static final int KEY_COUNT = 16;
+    private static final int LOOKED_UP_SLOT = 7;
+
+    @Param({"1", "2", "8"})
+    public int shapes;
+
+    private VirtualContainer[] virtualContainers;
+    private SlotContainer[] slotContainers;
+
+    @SuppressWarnings("unchecked")
+    @Setup
+    public void setUp() {
+        IntFunction<VirtualContainer>[] virtualFactories = new IntFunction[] {
+            VirtualContainer0::new, VirtualContainer1::new, VirtualContainer2::new, VirtualContainer3::new,
+            VirtualContainer4::new, VirtualContainer5::new, VirtualContainer6::new, VirtualContainer7::new
+        };
+        int[][] slotTables = new int[virtualFactories.length][];
+
+        for (int shape = 0; shape < slotTables.length; shape++) {
+            // every shape holds the looked up key, at a different index
+            int[] slotIndices = new int[KEY_COUNT];
+            Arrays.fill(slotIndices, -1);
+            for (int i = 0; i <= shape; i++) {
+                slotIndices[(LOOKED_UP_SLOT + i) % KEY_COUNT] = i;
+            }
+            slotTables[shape] = slotIndices;
+        }
+
+        this.virtualContainers = new VirtualContainer[CONTAINER_COUNT];
+        this.slotContainers = new SlotContainer[CONTAINER_COUNT];
+
+        for (int i = 0; i < CONTAINER_COUNT; i++) {
+            int shape = i % this.shapes;
+            this.virtualContainers[i] = virtualFactories[shape].apply(i);
+            this.slotContainers[i] = new SlotContainer(slotTables[shape], shape + 1, i);
+        }
+    }
+
+    @Benchmark
+    public void virtualGetter(Blackhole bh) {
+        for (VirtualContainer container : this.virtualContainers) {
+            bh.consume(container.getLookedUp());
+        }
+    }
+
+    @Benchmark
+    public void slotLookup(Blackhole bh) {
+        for (SlotContainer container : this.slotContainers) {
+            bh.consume(container.getBySlot(LOOKED_UP_SLOT));
+        }
+    }
+
+    static final class SlotContainer {
+        private final Object[] components;
+        private final int[] slotIndices;
+
+        SlotContainer(int[] slotIndices, int size, int seed) {
+            this.slotIndices = slotIndices;
+            this.components = new Object[size];
+            for (int i = 0; i < size; i++) {
+                this.components[i] = seed + i;
+            }
+        }
+
+        // mirrors SlottedComponentContainer#getBySlot
+        Object getBySlot(int slot) {
+            int[] slotIndices = this.slotIndices;
+
+            if (slot < slotIndices.length) {
+                int index = slotIndices[slot];
+
+                if (index >= 0) {
+                    return this.components[index];
+                }
+            }
+
+            return null;
+        }
+    }
+
+    abstract static class VirtualContainer {
+        Object getLookedUp() {
+            return null;
+        }
+    }
+
+    static final class VirtualContainer0 extends VirtualContainer {
+        private final Object component;
+        VirtualContainer0(int seed) { this.component = seed; }
+        @Override Object getLookedUp() { return this.component; }
+    }
+
+    static final class VirtualContainer1 extends VirtualContainer {
+        private final Object component;
+        VirtualContainer1(int seed) { this.component = seed; }
+        @Override Object getLookedUp() { return this.component; }
+    }
+
+    static final class VirtualContainer2 extends VirtualContainer {
+        private final Object component;
+        VirtualContainer2(int seed) { this.component = seed; }
+        @Override Object getLookedUp() { return this.component; }
+    }
+
+    static final class VirtualContainer3 extends VirtualContainer {
+        private final Object component;
+        VirtualContainer3(int seed) { this.component = seed; }
+        @Override Object getLookedUp() { return this.component; }
+    }
+
+    static final class VirtualContainer4 extends VirtualContainer {
+        private final Object component;
+        VirtualContainer4(int seed) { this.component = seed; }
+        @Override Object getLookedUp() { return this.component; }
+    }
+
+    static final class VirtualContainer5 extends VirtualContainer {
+        private final Object component;
+        VirtualContainer5(int seed) { this.component = seed; }
+        @Override Object getLookedUp() { return this.component; }
+    }
+
+    static final class VirtualContainer6 extends VirtualContainer {
+        private final Object component;
+        VirtualContainer6(int seed) { this.component = seed; }
+        @Override Object getLookedUp() { return this.component; }
+    }
+
+    static final class VirtualContainer7 extends VirtualContainer {
+        private final Object component;
+        VirtualContainer7(int seed) { this.component = seed; }
+        @Override Object getLookedUp() { return this.component; }
+    }
+}
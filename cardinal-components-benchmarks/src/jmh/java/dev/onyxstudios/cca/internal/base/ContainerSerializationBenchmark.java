@@ -0,0 +1,170 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2023 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.internal.base;
+
+import dev.onyxstudios.cca.api.v3.component.Component;
+import net.fabricmc.fabric.api.util.NbtType;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.util.Identifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the generic {@link AbstractComponentContainer} serialization loop with the strategy used
+ * by generated containers, on a 40-component container where a quarter of the components write nothing.
+ *
+ * <p>The generic loop rebuilds every NBT key from the component's {@link Identifier} and keeps a spare tag
+ * allocated at all times. The generated strategy uses precomputed keys and only allocates a tag when the
+ * previous one got stored. Generated code additionally invokes each component through its implementation
+ * class, which this benchmark does not attempt to reproduce.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContainerSerializationBenchmark {
+    private static final int COMPONENT_COUNT = 40;
+
+    private Identifier[] ids;
+    private String[] nbtKeys;
+    private Component[] components;
+    private NbtCompound serialized;
+
+    @Setup
+    public void setUp() {
+        this.ids = new Identifier[COMPONENT_COUNT];
+        this.nbtKeys = new String[COMPONENT_COUNT];
+        this.components = new Component[COMPONENT_COUNT];
+
+        for (int i = 0; i < COMPONENT_COUNT; i++) {
+            this.ids[i] = new Identifier("benchmark", "component_" + i);
+            this.nbtKeys[i] = this.ids[i].toString();
+            this.components[i] = new IntComponent(i, i % 4 != 0);
+        }
+
+        this.serialized = this.genericToTag();
+    }
+
+    @Benchmark
+    public NbtCompound genericToTag() {
+        NbtCompound tag = new NbtCompound();
+        NbtCompound componentMap = null;
+        NbtCompound componentTag = new NbtCompound();
+
+        for (int i = 0; i < COMPONENT_COUNT; i++) {
+            this.components[i].writeToNbt(componentTag);
+
+            if (!componentTag.isEmpty()) {
+                if (componentMap == null) {
+                    componentMap = new NbtCompound();
+                    tag.put(AbstractComponentContainer.NBT_KEY, componentMap);
+                }
+
+                componentMap.put(this.ids[i].toString(), componentTag);
+                componentTag = new NbtCompound();
+            }
+        }
+
+        return tag;
+    }
+
+    @Benchmark
+    public NbtCompound generatedToTag() {
+        NbtCompound tag = new NbtCompound();
+        NbtCompound componentMap = null;
+        NbtCompound componentTag = null;
+
+        for (int i = 0; i < COMPONENT_COUNT; i++) {
+            if (componentTag == null) componentTag = new NbtCompound();
+            this.components[i].writeToNbt(componentTag);
+
+            if (!AbstractComponentContainer.isEmptyTag(componentTag)) {
+                componentMap = AbstractComponentContainer.putComponentTag(tag, componentMap, this.nbtKeys[i], componentTag);
+                componentTag = null;
+            }
+        }
+
+        return tag;
+    }
+
+    @Benchmark
+    public void genericFromTag() {
+        NbtCompound componentMap = this.serialized.getCompound(AbstractComponentContainer.NBT_KEY).copy();
+
+        for (int i = 0; i < COMPONENT_COUNT; i++) {
+            String keyId = this.ids[i].toString();
+
+            if (componentMap.contains(keyId, NbtType.COMPOUND)) {
+                this.components[i].readFromNbt(componentMap.getCompound(keyId));
+                componentMap.remove(keyId);
+            }
+        }
+    }
+
+    @Benchmark
+    public void generatedFromTag() {
+        NbtCompound componentMap = this.serialized.getCompound(AbstractComponentContainer.NBT_KEY).copy();
+
+        for (int i = 0; i < COMPONENT_COUNT; i++) {
+            NbtCompound componentTag = AbstractComponentContainer.takeComponentTag(componentMap, this.nbtKeys[i]);
+
+            if (componentTag != null) {
+                this.components[i].readFromNbt(componentTag);
+            }
+        }
+    }
+
+    static final class IntComponent implements Component {
+        private final boolean persistent;
+        private int value;
+
+        IntComponent(int value, boolean persistent) {
+            this.value = value;
+            this.persistent = persistent;
+        }
+
+        @Override
+        public void readFromNbt(NbtCompound tag) {
+            this.value = tag.getInt("value");
+        }
+
+        @Override
+        public void writeToNbt(NbtCompound tag) {
+            if (this.persistent) {
+                tag.putInt("value", this.value);
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2023 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.internal.base;
+
+import dev.onyxstudios.cca.api.v3.component.ComponentContainer;
+import dev.onyxstudios.cca.api.v3.component.ComponentKey;
+import dev.onyxstudios.cca.internal.base.asm.BenchmarkBootstrap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link ComponentKey#get}, {@link ComponentKey#getNullable} and {@link ComponentKey#maybeGet}
+ * on generated containers.
+ *
+ * <p>The {@code shapes} parameter controls how many distinct container classes are seen by each call site,
+ * from monomorphic to megamorphic. Each benchmark invocation performs {@link #PROVIDER_COUNT} lookups.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeneratedContainerAccessBenchmark {
+    public static final int PROVIDER_COUNT = 1024;
+
+    @Param({"1", "2", "8"})
+    public int shapes;
+
+    private ComponentKey<BenchmarkComponent> presentKey;
+    private ComponentKey<BenchmarkComponent> absentKey;
+    private BenchmarkProvider[] providers;
+
+    @Setup
+    public void setup() {
+        List<ComponentKey<BenchmarkComponent>> keys = BenchmarkBootstrap.init();
+        this.presentKey = keys.get(0);
+        this.absentKey = keys.get(keys.size() - 1);
+
+        List<ComponentContainer.Factory<Void>> factories = new ArrayList<>();
+        for (int shape = 0; shape < this.shapes; shape++) {
+            ComponentContainer.Factory.Builder<Void> builder = ComponentContainer.Factory.builder();
+            // every shape holds a different set of components, and gets its own container class
+            for (int i = 0; i <= shape; i++) {
+                builder.component(keys.get(i), v -> new BenchmarkComponent());
+            }
+            factories.add(builder.build());
+        }
+
+        this.providers = new BenchmarkProvider[PROVIDER_COUNT];
+        for (int i = 0; i < PROVIDER_COUNT; i++) {
+            this.providers[i] = new BenchmarkProvider(factories.get(i % this.shapes).createContainer(null));
+        }
+    }
+
+    @Benchmark
+    public void get(Blackhole bh) {
+        for (BenchmarkProvider provider : this.providers) {
+            bh.consume(this.presentKey.get(provider));
+        }
+    }
+
+    @Benchmark
+    public void getNullablePresent(Blackhole bh) {
+        for (BenchmarkProvider provider : this.providers) {
+            bh.consume(this.presentKey.getNullable(provider));
+        }
+    }
+
+    @Benchmark
+    public void getNullableAbsent(Blackhole bh) {
+        for (BenchmarkProvider provider : this.providers) {
+            bh.consume(this.absentKey.getNullable(provider));
+        }
+    }
+
+    @Benchmark
+    public void maybeGet(Blackhole bh) {
+        for (BenchmarkProvider provider : this.providers) {
+            bh.consume(this.presentKey.maybeGet(provider));
+        }
+    }
+}
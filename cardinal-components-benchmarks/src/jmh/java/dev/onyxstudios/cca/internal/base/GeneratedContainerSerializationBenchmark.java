@@ -0,0 +1,85 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2023 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.internal.base;
+
+import dev.onyxstudios.cca.api.v3.component.ComponentContainer;
+import dev.onyxstudios.cca.api.v3.component.ComponentKey;
+import dev.onyxstudios.cca.internal.base.asm.BenchmarkBootstrap;
+import net.minecraft.nbt.NbtCompound;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link AbstractComponentContainer#toTag(NbtCompound)} and {@link AbstractComponentContainer#fromTag(NbtCompound)}
+ * as implemented by generated containers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeneratedContainerSerializationBenchmark {
+    @Param({"1", "4", "16"})
+    public int components;
+
+    private ComponentContainer container;
+    private NbtCompound savedData;
+
+    @Setup
+    public void setup() {
+        List<ComponentKey<BenchmarkComponent>> keys = BenchmarkBootstrap.init();
+        ComponentContainer.Factory.Builder<Void> builder = ComponentContainer.Factory.builder();
+
+        for (int i = 0; i < this.components; i++) {
+            int value = i;
+            builder.component(keys.get(i), v -> new BenchmarkComponent(value));
+        }
+
+        this.container = builder.build().createContainer(null);
+        this.savedData = this.container.toTag(new NbtCompound());
+    }
+
+    @Benchmark
+    public NbtCompound toTag() {
+        return this.container.toTag(new NbtCompound());
+    }
+
+    @Benchmark
+    public ComponentContainer fromTag() {
+        this.container.fromTag(this.savedData);
+        return this.container;
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2023 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.internal.base;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Estimates the heap saved by lazy components, by allocating the containers of a world's worth of entities.
+ *
+ * <p>Each container holds {@link #COMPONENT_COUNT} components, {@code lazyComponents} of which are declared lazy
+ * and never accessed. Containers are reproduced with plain classes mirroring the layout of
+ * {@link SlottedComponentContainer}, so that the benchmark runs without a game bootstrap.
+ *
+ * <p>Run with {@code -prof gc}: {@code gc.alloc.rate.norm} then gives the bytes retained by one batch of containers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LazyComponentFootprintBenchmark {
+    private static final int ENTITY_COUNT = 20_000;
+    private static final int COMPONENT_COUNT = 10;
+
+    @Param({"0", "5", "9"})
+    public int lazyComponents;
+
+    @Benchmark
+    public Object[] createContainers() {
+        Object provider = new Object();
+        Container[] containers = new Container[ENTITY_COUNT];
+        for (int i = 0; i < containers.length; i++) {
+            containers[i] = new Container(provider, COMPONENT_COUNT - this.lazyComponents);
+        }
+        return containers;
+    }
+
+    private static final class Container {
+        private final Object[] components = new Object[COMPONENT_COUNT];
+        // generated containers only keep the factory arguments when they hold lazy components
+        private final Object factoryArg;
+
+        Container(Object provider, int eagerComponents) {
+            this.factoryArg = eagerComponents < COMPONENT_COUNT ? provider : null;
+            for (int i = 0; i < eagerComponents; i++) {
+                this.components[i] = new DummyComponent();
+            }
+        }
+    }
+
+    private static final class DummyComponent {
+        private int value;
+        private boolean dirty;
+        private Object data;
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2023 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.internal.base;
+
+import dev.onyxstudios.cca.api.v3.component.sync.AutoSyncedComponent;
+import dev.onyxstudios.cca.internal.base.asm.BenchmarkBootstrap;
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.server.network.ServerPlayerEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link AutoSyncedComponent#writeSyncPacket(PacketByteBuf, ServerPlayerEntity)} into a reused buffer,
+ * comparing the default NBT-based implementation with a handwritten one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SyncPacketEncodingBenchmark {
+    private final PacketByteBuf buf = new PacketByteBuf(Unpooled.buffer());
+    private BenchmarkComponent nbtSynced;
+    private BenchmarkComponent compactSynced;
+
+    @Setup
+    public void setup() {
+        BenchmarkBootstrap.init();
+        this.nbtSynced = new BenchmarkComponent(42);
+        this.compactSynced = new CompactSyncedComponent(42);
+    }
+
+    @Benchmark
+    public PacketByteBuf defaultWriteSyncPacket() {
+        this.buf.clear();
+        this.nbtSynced.writeSyncPacket(this.buf, null);
+        return this.buf;
+    }
+
+    @Benchmark
+    public PacketByteBuf customWriteSyncPacket() {
+        this.buf.clear();
+        this.compactSynced.writeSyncPacket(this.buf, null);
+        return this.buf;
+    }
+
+    public static class CompactSyncedComponent extends BenchmarkComponent {
+        public CompactSyncedComponent(int value) {
+            super(value);
+        }
+
+        @Override
+        public void writeSyncPacket(PacketByteBuf buf, ServerPlayerEntity recipient) {
+            buf.writeVarInt(this.value);
+            buf.writeString(this.label);
+        }
+
+        @Override
+        public void applySyncPacket(PacketByteBuf buf) {
+            this.value = buf.readVarInt();
+            this.label = buf.readString();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2023 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.internal.base.asm;
+
+import dev.onyxstudios.cca.api.v3.component.ComponentKey;
+import dev.onyxstudios.cca.api.v3.component.ComponentRegistry;
+import dev.onyxstudios.cca.internal.base.BenchmarkComponent;
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.util.Identifier;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Bootstraps Minecraft and the component registry outside of Fabric Loader, so that benchmarks
+ * run against real component keys and generated containers.
+ *
+ * <p>No mod metadata is available in that setup, so component ids are handed to {@link CcaBootstrap} directly.
+ */
+public final class BenchmarkBootstrap {
+    public static final int COMPONENT_COUNT = 16;
+
+    private static List<ComponentKey<BenchmarkComponent>> keys;
+
+    private BenchmarkBootstrap() { throw new AssertionError(); }
+
+    /**
+     * @return {@value #COMPONENT_COUNT} component keys, ordered by slot
+     */
+    public static synchronized List<ComponentKey<BenchmarkComponent>> init() {
+        if (keys == null) {
+            SharedConstants.createGameVersion();
+            Bootstrap.initialize();
+
+            List<Identifier> ids = IntStream.range(0, COMPONENT_COUNT)
+                .mapToObj(i -> new Identifier("cca-benchmarks", "component_%02d".formatted(i)))
+                .toList();
+            CcaBootstrap.INSTANCE.additionalComponentIds.addAll(ids);
+            keys = ids.stream()
+                .map(id -> ComponentRegistry.getOrCreate(id, BenchmarkComponent.class))
+                .toList();
+        }
+        return keys;
+    }
+}
@@ -22,15 +22,15 @@
  */
 package dev.onyxstudios.cca.internal;
 
-import dev.onyxstudios.cca.api.v3.block.BlockEntitySyncAroundCallback;
-import dev.onyxstudios.cca.api.v3.block.BlockEntitySyncCallback;
 import dev.onyxstudios.cca.api.v3.component.ComponentKey;
 import dev.onyxstudios.cca.api.v3.component.ComponentProvider;
 import dev.onyxstudios.cca.api.v3.component.sync.AutoSyncedComponent;
+import dev.onyxstudios.cca.internal.base.ChunkComponentPayload;
 import net.fabricmc.loader.api.FabricLoader;
 import net.minecraft.block.entity.BlockEntity;
 import net.minecraft.network.PacketByteBuf;
 import net.minecraft.network.packet.s2c.play.CustomPayloadS2CPacket;
+import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.util.Identifier;
 import net.minecraft.util.math.BlockPos;
 
@@ -38,27 +38,29 @@ public class CardinalComponentsBlock {
     /**
      * {@link CustomPayloadS2CPacket} channel for default entity component synchronization.
      *
-     * <p> Packets emitted on this channel must begin with, in order, the {@link BlockEntity#getType() BE type} (as an identifier),
+     * <p> Packets emitted on this channel must begin with, in order, the {@link BlockEntity#getType() BE type} (as a varint raw id if the client completed the {@link dev.onyxstudios.cca.internal.base.ComponentNetworkIds key id handshake}, or as its identifier otherwise),
      * the {@link BlockEntity#getPos() position} (using {@link PacketByteBuf#writeBlockPos(BlockPos)}),
-     * and the {@link ComponentKey#getId() component's type} (as an Identifier).
+     * and the {@link ComponentKey#getId() component's type} (as written by {@link dev.onyxstudios.cca.internal.base.ComponentNetworkIds#writeKey ComponentNetworkIds#writeKey}).
      *
      * <p> Components synchronized through this channel will have {@linkplain AutoSyncedComponent#applySyncPacket(PacketByteBuf)}
      * called on the game thread.
      */
     public static final Identifier PACKET_ID = new Identifier("cardinal-components", "block_entity_sync");
 
+    public static void syncAllComponents(ServerPlayerEntity player, BlockEntity tracked) {
+        ComponentProvider provider = (ComponentProvider) tracked;
+
+        for (ComponentKey<?> key : provider.getComponentContainer().keys()) {
+            key.syncWith(player, provider);
+        }
+    }
+
     public static void init() {
         if (FabricLoader.getInstance().isModLoaded("fabric-networking-api-v1")) {
-            BlockEntitySyncCallback.EVENT.register((player, tracked) -> {
-                ComponentProvider provider = (ComponentProvider) tracked;
-
-                for (ComponentKey<?> key : provider.getComponentContainer().keys()) {
-                    key.syncWith(player, provider);
-                }
-            });
-            BlockEntitySyncAroundCallback.EVENT.register(tracked -> {
-                for (ComponentKey<?> key : ((ComponentProvider) tracked).getComponentContainer().keys()) {
-                    tracked.syncComponent(key);
+            // block entities sent along with their chunk get their components in the chunk's combined payload
+            ChunkComponentPayload.COLLECT.register(payload -> {
+                for (BlockEntity blockEntity : payload.getChunk().getBlockEntities().values()) {
+                    payload.writeBlockEntityComponents(blockEntity);
                 }
             });
         }
@@ -23,14 +23,13 @@
 package dev.onyxstudios.cca.internal;
 
 import dev.onyxstudios.cca.api.v3.component.ComponentKey;
-import dev.onyxstudios.cca.api.v3.component.ComponentRegistry;
-import dev.onyxstudios.cca.api.v3.component.sync.AutoSyncedComponent;
+import dev.onyxstudios.cca.internal.base.ComponentNetworkIds;
 import dev.onyxstudios.cca.internal.base.ComponentsInternals;
+import dev.onyxstudios.cca.internal.base.PendingSyncUpdate;
 import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
 import net.fabricmc.loader.api.FabricLoader;
 import net.minecraft.block.entity.BlockEntityType;
 import net.minecraft.registry.Registries;
-import net.minecraft.util.Identifier;
 import net.minecraft.util.math.BlockPos;
 
 public class CcaBlockClientNw {
@@ -38,25 +37,24 @@ public class CcaBlockClientNw {
         if (FabricLoader.getInstance().isModLoaded("fabric-networking-api-v1")) {
             ClientPlayNetworking.registerGlobalReceiver(CardinalComponentsBlock.PACKET_ID, (client, handler, buffer, res) -> {
                 try {
-                    Identifier blockEntityTypeId = buffer.readIdentifier();
+                    BlockEntityType<?> blockEntityType = ComponentNetworkIds.hasServerMapping()
+                        ? Registries.BLOCK_ENTITY_TYPE.get(buffer.readVarInt())
+                        : Registries.BLOCK_ENTITY_TYPE.get(buffer.readIdentifier());
                     BlockPos position = buffer.readBlockPos();
-                    Identifier componentTypeId = buffer.readIdentifier();
-                    BlockEntityType<?> blockEntityType = Registries.BLOCK_ENTITY_TYPE.get(blockEntityTypeId);
-                    ComponentKey<?> componentType = ComponentRegistry.get(componentTypeId);
+                    ComponentKey<?> componentType = ComponentNetworkIds.readKey(buffer);
 
                     if (componentType == null || blockEntityType == null) {
                         return;
                     }
 
-                    buffer.retain();
+                    PendingSyncUpdate update = PendingSyncUpdate.read(componentType, buffer);
 
                     client.execute(() -> {
                         try {
                             componentType.maybeGet(blockEntityType.get(client.world, position))
-                                .filter(c -> c instanceof AutoSyncedComponent)
-                                .ifPresent(c -> ((AutoSyncedComponent) c).applySyncPacket(buffer));
+                                .ifPresent(update::apply);
                         } finally {
-                            buffer.release();
+                            update.release();
                         }
                     });
                 } catch (Exception e) {
@@ -23,30 +23,103 @@
 package dev.onyxstudios.cca.internal.block;
 
 import dev.onyxstudios.cca.api.v3.component.ComponentContainer;
+import dev.onyxstudios.cca.internal.base.ContainerFactoryWarmUp;
 import net.minecraft.block.entity.BlockEntity;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
-import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
 
 public final class CardinalBlockInternals {
-    private static final Map<Class<? extends BlockEntity>, ComponentContainer.Factory<BlockEntity>> entityContainerFactories = new HashMap<>();
+    /**
+     * Factories that have been resolved so far, only accessed while holding the class lock.
+     */
+    private static final Map<Class<? extends BlockEntity>, ComponentContainer.Factory<BlockEntity>> resolvedFactories = new HashMap<>();
+    /**
+     * Lock-free view of {@link #resolvedFactories}, safe to query from any thread.
+     */
+    private static final ClassValue<ComponentContainer.Factory<BlockEntity>> entityContainerFactories = new ClassValue<>() {
+        @Override
+        protected ComponentContainer.Factory<BlockEntity> computeValue(Class<?> type) {
+            return getBeComponentFactory(type.asSubclass(BlockEntity.class));
+        }
+    };
+    private static final ClassValue<Boolean> clientTicking = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return hasTickers(type.asSubclass(BlockEntity.class), true);
+        }
+    };
+    private static final ClassValue<Boolean> serverTicking = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return hasTickers(type.asSubclass(BlockEntity.class), false);
+        }
+    };
 
     public static ComponentContainer createComponents(BlockEntity blockEntity) {
-        Class<? extends BlockEntity> entityClass = blockEntity.getClass();
-        ComponentContainer.Factory<BlockEntity> existing = entityContainerFactories.get(entityClass);
+        return entityContainerFactories.get(blockEntity.getClass()).createContainer(blockEntity);
+    }
+
+    public static boolean hasClientTickers(Class<? extends BlockEntity> entityClass) {
+        return clientTicking.get(entityClass);
+    }
+
+    public static boolean hasServerTickers(Class<? extends BlockEntity> entityClass) {
+        return serverTicking.get(entityClass);
+    }
 
-        return Objects.requireNonNullElseGet(
-            existing,
-            () -> getBeComponentFactory(entityClass)
-        ).createContainer(blockEntity);
+    private static synchronized boolean hasTickers(Class<? extends BlockEntity> entityClass, boolean client) {
+        // ticking components are only known once the factory has been resolved
+        entityContainerFactories.get(entityClass);
+
+        if (StaticBlockComponentPlugin.INSTANCE.hasTickers(entityClass, client)) {
+            return true;
+        } else if (entityClass == BlockEntity.class) {
+            return false;
+        }
+
+        // classes without a dedicated factory use the components of their superclass
+        @SuppressWarnings("unchecked") var superclass = (Class<? extends BlockEntity>) entityClass.getSuperclass();
+        return client ? hasClientTickers(superclass) : hasServerTickers(superclass);
+    }
+
+    /**
+     * Generates the container factory of every block entity class with registered components,
+     * so that they are not spun the first time such a block entity gets created.
+     *
+     * <p>Block entity types do not expose the class they create, and instantiating them outside a world
+     * runs arbitrary constructors. Other classes resolve to their superclass' factory on first use.
+     */
+    public static synchronized void warmUpFactories() {
+        Set<Class<? extends BlockEntity>> classes = new LinkedHashSet<>();
+        classes.add(BlockEntity.class);
+        classes.addAll(StaticBlockComponentPlugin.INSTANCE.getRegisteredTargets());
+
+        Map<Class<? extends BlockEntity>, Supplier<ComponentContainer.Factory<BlockEntity>>> builders = new LinkedHashMap<>();
+
+        for (Class<? extends BlockEntity> beClass : classes) {
+            if (!resolvedFactories.containsKey(beClass) && StaticBlockComponentPlugin.INSTANCE.requiresStaticFactory(beClass)) {
+                builders.put(beClass, StaticBlockComponentPlugin.INSTANCE.prepareDedicatedFactory(beClass)::build);
+            }
+        }
+
+        resolvedFactories.putAll(ContainerFactoryWarmUp.buildAll("block entity", builders));
+
+        // the remaining classes only need to be linked to the factory of their closest registered superclass
+        for (Class<? extends BlockEntity> beClass : classes) {
+            getBeComponentFactory(beClass);
+        }
     }
 
     private static synchronized ComponentContainer.Factory<BlockEntity> getBeComponentFactory(Class<? extends BlockEntity> entityClass) {
         // need to check again despite synchronization, because
         // 1- recursive calls
-        // 2- the factory may have been generated while waiting from createComponents
-        ComponentContainer.Factory<BlockEntity> existing = entityContainerFactories.get(entityClass);
+        // 2- ClassValue may compute the same value concurrently, and a factory class can only be generated once
+        ComponentContainer.Factory<BlockEntity> existing = resolvedFactories.get(entityClass);
         if (existing != null) return existing;
 
         ComponentContainer.Factory<BlockEntity> factory;
@@ -57,7 +130,7 @@ public final class CardinalBlockInternals {
             assert BlockEntity.class.isAssignableFrom(superclass) : "requiresStaticFactory returned false on BlockEntity?";
             factory = /* recursive call */ getBeComponentFactory(superclass);
         }
-        entityContainerFactories.put(entityClass, factory);
+        resolvedFactories.put(entityClass, factory);
         return factory;
     }
 }
@@ -0,0 +1,42 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2023 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.internal.block;
+
+import net.minecraft.block.entity.BlockEntity;
+
+/**
+ * Keeps track of the block entities in a chunk that have component syncs waiting for the chunk's next update.
+ *
+ * <p>Implemented by {@link net.minecraft.world.chunk.WorldChunk}.
+ */
+public interface PendingBlockEntitySyncs {
+    /**
+     * Schedules the pending component syncs of a block entity in this chunk for the chunk's next update.
+     */
+    void cca$markPendingSync(BlockEntity blockEntity);
+
+    /**
+     * Synchronizes the pending components of every marked block entity that has not been sent with a vanilla update yet.
+     */
+    void cca$flushPendingSyncs();
+}
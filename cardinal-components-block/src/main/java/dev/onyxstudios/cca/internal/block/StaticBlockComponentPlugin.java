@@ -63,18 +63,19 @@ public final class StaticBlockComponentPlugin extends LazyDispatcher implements
 
     private final List<PredicatedComponentFactory<?>> dynamicFactories = new ArrayList<>();
     private final Map<Class<? extends BlockEntity>, Map<ComponentKey<?>, QualifiedComponentFactory<ComponentFactory<? extends BlockEntity, ?>>>> beComponentFactories = new Reference2ObjectOpenHashMap<>();
+    // only accessed through CardinalBlockInternals, while holding its lock
     private final Set<Class<? extends BlockEntity>> clientTicking = new ReferenceOpenHashSet<>();
     private final Set<Class<? extends BlockEntity>> serverTicking = new ReferenceOpenHashSet<>();
 
     @Nullable
     public <T extends BlockEntity> BlockEntityTicker<T> getComponentTicker(World world, T be, @Nullable BlockEntityTicker<T> base) {
-        if (world.isClient && this.clientTicking.contains(be.getClass())) {
+        if (world.isClient && CardinalBlockInternals.hasClientTickers(be.getClass())) {
             if (base == null) return (w, pos, state, blockEntity) -> blockEntity.asComponentProvider().getComponentContainer().tickClientComponents();
             return (w, pos, state, blockEntity) -> {
                 blockEntity.asComponentProvider().getComponentContainer().tickClientComponents();
                 base.tick(w, pos, state, blockEntity);
             };
-        } else if (!world.isClient && this.serverTicking.contains(be.getClass())) {
+        } else if (!world.isClient && CardinalBlockInternals.hasServerTickers(be.getClass())) {
             if (base == null) return (w, pos, state, blockEntity) -> blockEntity.asComponentProvider().getComponentContainer().tickServerComponents();
             return (w, pos, state, blockEntity) -> {
                 blockEntity.asComponentProvider().getComponentContainer().tickServerComponents();
@@ -84,6 +85,10 @@ public final class StaticBlockComponentPlugin extends LazyDispatcher implements
         return base;
     }
 
+    boolean hasTickers(Class<? extends BlockEntity> entityClass, boolean client) {
+        return (client ? this.clientTicking : this.serverTicking).contains(entityClass);
+    }
+
     public boolean requiresStaticFactory(Class<? extends BlockEntity> entityClass) {
         StaticBlockComponentPlugin.INSTANCE.ensureInitialized();
 
@@ -94,7 +99,22 @@ public final class StaticBlockComponentPlugin extends LazyDispatcher implements
         return entityClass == BlockEntity.class || this.beComponentFactories.containsKey(entityClass);
     }
 
+    /**
+     * @return every block entity class for which components were registered directly
+     */
+    public List<Class<? extends BlockEntity>> getRegisteredTargets() {
+        this.ensureInitialized();
+        return new ArrayList<>(this.beComponentFactories.keySet());
+    }
+
     public ComponentContainer.Factory<BlockEntity> buildDedicatedFactory(Class<? extends BlockEntity> entityClass) {
+        return this.prepareDedicatedFactory(entityClass).build();
+    }
+
+    /**
+     * Resolves the components of a dedicated container factory, without generating any class yet.
+     */
+    public ComponentContainer.Factory.Builder<BlockEntity> prepareDedicatedFactory(Class<? extends BlockEntity> entityClass) {
         StaticBlockComponentPlugin.INSTANCE.ensureInitialized();
 
         var compiled = new LinkedHashMap<>(this.beComponentFactories.getOrDefault(entityClass, Collections.emptyMap()));
@@ -116,14 +136,14 @@ public final class StaticBlockComponentPlugin extends LazyDispatcher implements
             if (ServerTickingComponent.class.isAssignableFrom(entry.getValue().impl())) this.serverTicking.add(entityClass);
         }
 
-        return builder.build();
+        return builder;
     }
 
     private <C extends Component> void addToBuilder(ComponentContainer.Factory.Builder<BlockEntity> builder, Map.Entry<ComponentKey<?>, QualifiedComponentFactory<ComponentFactory<? extends BlockEntity, ?>>> entry) {
         @SuppressWarnings("unchecked") var key = (ComponentKey<C>) entry.getKey();
         @SuppressWarnings("unchecked") var factory = (ComponentFactory<BlockEntity, C>) entry.getValue().factory();
         @SuppressWarnings("unchecked") var impl = (Class<C>) entry.getValue().impl();
-        builder.component(key, impl, factory, entry.getValue().dependencies());
+        builder.component(key, impl, factory, entry.getValue().dependencies(), entry.getValue().lazy());
     }
 
     public <C extends Component, E extends BlockEntity> void registerFor(Class<E> target, ComponentKey<C> type, ComponentFactory<E, C> factory) {
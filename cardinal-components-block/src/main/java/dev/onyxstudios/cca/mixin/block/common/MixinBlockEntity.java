@@ -28,7 +28,13 @@ import dev.onyxstudios.cca.api.v3.component.ComponentProvider;
 import dev.onyxstudios.cca.api.v3.component.sync.AutoSyncedComponent;
 import dev.onyxstudios.cca.api.v3.component.sync.ComponentPacketWriter;
 import dev.onyxstudios.cca.internal.CardinalComponentsBlock;
+import dev.onyxstudios.cca.internal.base.ComponentNetworkIds;
+import dev.onyxstudios.cca.internal.base.DeferredSyncProvider;
+import dev.onyxstudios.cca.internal.base.LazyComponentProvider;
+import dev.onyxstudios.cca.internal.base.PendingComponentSyncs;
 import dev.onyxstudios.cca.internal.block.CardinalBlockInternals;
+import dev.onyxstudios.cca.internal.block.PendingBlockEntitySyncs;
+import it.unimi.dsi.fastutil.objects.ReferenceLinkedOpenHashSet;
 import net.fabricmc.fabric.api.networking.v1.PacketByteBufs;
 import net.fabricmc.fabric.api.networking.v1.PlayerLookup;
 import net.minecraft.block.BlockState;
@@ -37,9 +43,13 @@ import net.minecraft.block.entity.BlockEntityType;
 import net.minecraft.nbt.NbtCompound;
 import net.minecraft.network.PacketByteBuf;
 import net.minecraft.network.packet.s2c.play.CustomPayloadS2CPacket;
+import net.minecraft.registry.Registries;
 import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ChunkHolder;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkSectionPos;
 import net.minecraft.world.World;
+import net.minecraft.world.chunk.WorldChunk;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.Unique;
@@ -51,9 +61,10 @@ import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.List;
+import java.util.Set;
 
 @Mixin(BlockEntity.class)
-public abstract class MixinBlockEntity implements ComponentProvider {
+public abstract class MixinBlockEntity implements ComponentProvider, LazyComponentProvider, DeferredSyncProvider {
     @Shadow
     @Nullable
     public abstract World getWorld();
@@ -64,26 +75,26 @@ public abstract class MixinBlockEntity implements ComponentProvider {
     @Shadow
     public abstract BlockEntityType<?> getType();
 
+    @Shadow
+    public abstract boolean isRemoved();
+
+    @Unique
+    private volatile @Nullable ComponentContainer components;
+    @Unique
+    private @Nullable NbtCompound deferredComponentData;
     @Unique
-    private ComponentContainer components;
+    private @Nullable Set<ComponentKey<?>> deferredSyncs;
 
     @Inject(method = "createFromNbt", at = @At("RETURN"))
     private static void readComponentData(BlockPos pos, BlockState state, NbtCompound nbt, CallbackInfoReturnable<BlockEntity> cir) {
         if (cir.getReturnValue() != null) {
-            cir.getReturnValue().asComponentProvider().getComponentContainer().fromTag(nbt);
+            ((LazyComponentProvider) cir.getReturnValue()).cardinal_readComponentData(nbt);
         }
     }
 
-    @Inject(method = "<init>", at = @At("RETURN"))
-    private void init(BlockEntityType<?> type, BlockPos pos, BlockState state, CallbackInfo ci) {
-        // Promise, this is a BlockEntity
-        //noinspection ConstantConditions
-        this.components = CardinalBlockInternals.createComponents((BlockEntity) (Object) this);
-    }
-
     @Inject(method = "createNbt", at = @At("RETURN"))
     private void writeNbt(CallbackInfoReturnable<NbtCompound> cir) {
-        this.components.toTag(cir.getReturnValue());
+        this.cardinal_writeComponentData(cir.getReturnValue());
     }
 
     /**
@@ -98,13 +109,77 @@ public abstract class MixinBlockEntity implements ComponentProvider {
      */
     @Inject(method = "readNbt", at = @At(value = "RETURN"))
     private void readNbt(NbtCompound tag, CallbackInfo ci) {
-        this.components.fromTag(tag);
+        this.cardinal_readComponentData(tag);
     }
 
     @Nonnull
     @Override
     public ComponentContainer getComponentContainer() {
-        return this.components;
+        ComponentContainer components = this.components;
+
+        if (components == null) {
+            // double-checked, as worldgen also builds block entities off-thread
+            synchronized (this) {
+                components = this.components;
+
+                if (components == null) {
+                    // Created on first access, as many block entities get built and discarded without anything querying their components
+                    // Promise, this is a BlockEntity
+                    //noinspection ConstantConditions
+                    components = CardinalBlockInternals.createComponents((BlockEntity) (Object) this);
+                    this.components = components;
+                    NbtCompound deferred = this.deferredComponentData;
+
+                    if (deferred != null) {
+                        this.deferredComponentData = null;
+                        components.fromTag(deferred);
+                    }
+                }
+            }
+        }
+
+        return components;
+    }
+
+    @Override
+    public void cardinal_readComponentData(NbtCompound tag) {
+        ComponentContainer components = this.components;
+
+        if (components == null) {
+            synchronized (this) {
+                components = this.components;
+
+                if (components == null) {
+                    this.deferredComponentData = LazyComponentProvider.deferComponentData(this.deferredComponentData, tag);
+                    return;
+                }
+            }
+        }
+
+        components.fromTag(tag);
+    }
+
+    @Override
+    public void cardinal_writeComponentData(NbtCompound tag) {
+        ComponentContainer components = this.components;
+
+        if (components == null) {
+            synchronized (this) {
+                components = this.components;
+
+                if (components == null) {
+                    LazyComponentProvider.writeDeferredComponentData(this.deferredComponentData, tag);
+                    return;
+                }
+            }
+        }
+
+        components.toTag(tag);
+    }
+
+    @Override
+    public boolean cardinal_hasComponentContainer() {
+        return this.components != null;
     }
 
     @Override
@@ -121,11 +196,58 @@ public abstract class MixinBlockEntity implements ComponentProvider {
     @Override
     public <C extends AutoSyncedComponent> CustomPayloadS2CPacket toComponentPacket(ComponentKey<? super C> key, ComponentPacketWriter writer, ServerPlayerEntity recipient) {
         PacketByteBuf buf = PacketByteBufs.create();
-        buf.writeIdentifier(BlockEntityType.getId(this.getType()));
+        if (ComponentNetworkIds.hasMapping(recipient)) {
+            // block entity types use the same raw ids as vanilla's block entity update packets
+            buf.writeVarInt(Registries.BLOCK_ENTITY_TYPE.getRawId(this.getType()));
+        } else {
+            buf.writeIdentifier(BlockEntityType.getId(this.getType()));
+        }
         buf.writeBlockPos(this.getPos());
-        buf.writeIdentifier(key.getId());
+        ComponentNetworkIds.writeKey(buf, key, recipient);
         writer.writeSyncPacket(buf, recipient);
         return new CustomPayloadS2CPacket(CardinalComponentsBlock.PACKET_ID, buf);
     }
 
+    @Override
+    public boolean cca$deferSync(ComponentKey<?> key) {
+        World world = this.getWorld();
+
+        if (world == null || world.isClient || this.isRemoved() || !PendingComponentSyncs.isServerThread()) {
+            return false;
+        }
+
+        BlockPos pos = this.getPos();
+        WorldChunk chunk = world.getChunkManager().getWorldChunk(ChunkSectionPos.getSectionCoord(pos.getX()), ChunkSectionPos.getSectionCoord(pos.getZ()));
+
+        // only ticking chunks get their updates flushed every tick, other block entities sync right away
+        if (chunk == null || !chunk.getLevelType().isAfter(ChunkHolder.LevelType.TICKING)) {
+            return false;
+        }
+
+        if (this.deferredSyncs == null) {
+            this.deferredSyncs = new ReferenceLinkedOpenHashSet<>();
+        }
+
+        if (this.deferredSyncs.isEmpty()) {
+            ((PendingBlockEntitySyncs) chunk).cca$markPendingSync((BlockEntity) (Object) this);
+        }
+
+        this.deferredSyncs.add(key);
+        return true;
+    }
+
+    @Override
+    public void cca$flushDeferredSyncs() {
+        Set<ComponentKey<?>> keys = this.deferredSyncs;
+
+        if (keys != null && !keys.isEmpty()) {
+            // syncs requested while flushing go to the next update
+            this.deferredSyncs = null;
+
+            for (ComponentKey<?> key : keys) {
+                key.syncImmediately(this);
+            }
+        }
+    }
+
 }
@@ -23,17 +23,32 @@
 package dev.onyxstudios.cca.mixin.block.common;
 
 import dev.onyxstudios.cca.api.v3.block.BlockEntitySyncAroundCallback;
+import dev.onyxstudios.cca.internal.base.DeferredSyncProvider;
+import dev.onyxstudios.cca.internal.block.PendingBlockEntitySyncs;
 import net.minecraft.block.entity.BlockEntity;
 import net.minecraft.server.world.ChunkHolder;
+import net.minecraft.world.chunk.WorldChunk;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.ModifyVariable;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 
 @Mixin(ChunkHolder.class)
 public abstract class MixinChunkHolder {
     @ModifyVariable(method = "sendBlockEntityUpdatePacket", at = @At(value = "INVOKE", target = "Lnet/minecraft/block/entity/BlockEntity;toUpdatePacket()Lnet/minecraft/network/packet/Packet;"))
     private BlockEntity sendBlockEntityUpdate(BlockEntity be) {
+        // components marked for sync go out along with the vanilla update, unchanged ones are not resent
+        ((DeferredSyncProvider) be).cca$flushDeferredSyncs();
         BlockEntitySyncAroundCallback.EVENT.invoker().onBlockEntitySync(be);
         return be;
     }
+
+    /**
+     * Synchronizes the block entity components marked since the last update, for block entities that got no vanilla update
+     */
+    @Inject(method = "flushUpdates", at = @At("RETURN"))
+    private void flushBlockEntityComponentSyncs(WorldChunk chunk, CallbackInfo ci) {
+        ((PendingBlockEntitySyncs) chunk).cca$flushPendingSyncs();
+    }
 }
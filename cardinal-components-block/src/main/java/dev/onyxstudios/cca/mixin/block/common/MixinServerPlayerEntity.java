@@ -23,6 +23,8 @@
 package dev.onyxstudios.cca.mixin.block.common;
 
 import dev.onyxstudios.cca.api.v3.block.BlockEntitySyncCallback;
+import dev.onyxstudios.cca.internal.CardinalComponentsBlock;
+import net.fabricmc.loader.api.FabricLoader;
 import net.minecraft.block.entity.CommandBlockBlockEntity;
 import net.minecraft.server.network.ServerPlayerEntity;
 import org.spongepowered.asm.mixin.Mixin;
@@ -34,6 +36,9 @@ import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 public abstract class MixinServerPlayerEntity {
     @Inject(method = "openCommandBlockScreen", at = @At(value = "INVOKE", target = "Lnet/minecraft/network/packet/s2c/play/BlockEntityUpdateS2CPacket;create(Lnet/minecraft/block/entity/BlockEntity;Ljava/util/function/Function;)Lnet/minecraft/network/packet/s2c/play/BlockEntityUpdateS2CPacket;"))
     private void syncBlockEntity(CommandBlockBlockEntity commandBlock, CallbackInfo ci) {
+        if (FabricLoader.getInstance().isModLoaded("fabric-networking-api-v1")) {
+            CardinalComponentsBlock.syncAllComponents((ServerPlayerEntity)(Object) this, commandBlock);
+        }
         BlockEntitySyncCallback.EVENT.invoker().onBlockEntitySync((ServerPlayerEntity)(Object) this, commandBlock);
     }
 }
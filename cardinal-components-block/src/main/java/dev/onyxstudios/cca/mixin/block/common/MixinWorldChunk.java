@@ -22,7 +22,10 @@
  */
 package dev.onyxstudios.cca.mixin.block.common;
 
+import dev.onyxstudios.cca.internal.base.DeferredSyncProvider;
+import dev.onyxstudios.cca.internal.block.PendingBlockEntitySyncs;
 import dev.onyxstudios.cca.internal.block.StaticBlockComponentPlugin;
+import it.unimi.dsi.fastutil.objects.ReferenceLinkedOpenHashSet;
 import net.minecraft.block.entity.BlockEntity;
 import net.minecraft.block.entity.BlockEntityTicker;
 import net.minecraft.world.World;
@@ -31,19 +34,50 @@ import org.jetbrains.annotations.Nullable;
 import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.Unique;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.ModifyVariable;
 
+import java.util.Set;
+
 @Mixin(WorldChunk.class)
-public abstract class MixinWorldChunk {
+public abstract class MixinWorldChunk implements PendingBlockEntitySyncs {
 
     @Shadow
     @Final
     World world;
 
+    @Unique
+    private @Nullable Set<BlockEntity> cca$pendingBlockEntitySyncs;
+
     @Nullable
     @ModifyVariable(method = "updateTicker", at = @At(value = "INVOKE_ASSIGN", target = "Lnet/minecraft/block/BlockState;getBlockEntityTicker(Lnet/minecraft/world/World;Lnet/minecraft/block/entity/BlockEntityType;)Lnet/minecraft/block/entity/BlockEntityTicker;"))
     private <T extends BlockEntity> BlockEntityTicker<T> getBlockEntityTicker(BlockEntityTicker<T> base, T blockEntity) {
         return StaticBlockComponentPlugin.INSTANCE.getComponentTicker(this.world, blockEntity, base);
     }
+
+    @Override
+    public void cca$markPendingSync(BlockEntity blockEntity) {
+        if (this.cca$pendingBlockEntitySyncs == null) {
+            this.cca$pendingBlockEntitySyncs = new ReferenceLinkedOpenHashSet<>();
+        }
+
+        this.cca$pendingBlockEntitySyncs.add(blockEntity);
+    }
+
+    @Override
+    public void cca$flushPendingSyncs() {
+        Set<BlockEntity> blockEntities = this.cca$pendingBlockEntitySyncs;
+
+        if (blockEntities != null && !blockEntities.isEmpty()) {
+            // block entities marked while flushing go to the next update
+            this.cca$pendingBlockEntitySyncs = null;
+
+            for (BlockEntity blockEntity : blockEntities) {
+                if (!blockEntity.isRemoved()) {
+                    ((DeferredSyncProvider) blockEntity).cca$flushDeferredSyncs();
+                }
+            }
+        }
+    }
 }
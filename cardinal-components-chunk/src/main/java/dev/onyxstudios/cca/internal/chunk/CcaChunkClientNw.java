@@ -23,12 +23,11 @@
 package dev.onyxstudios.cca.internal.chunk;
 
 import dev.onyxstudios.cca.api.v3.component.ComponentKey;
-import dev.onyxstudios.cca.api.v3.component.ComponentRegistry;
-import dev.onyxstudios.cca.api.v3.component.sync.AutoSyncedComponent;
+import dev.onyxstudios.cca.internal.base.ComponentNetworkIds;
 import dev.onyxstudios.cca.internal.base.ComponentsInternals;
+import dev.onyxstudios.cca.internal.base.PendingSyncUpdate;
 import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
 import net.fabricmc.loader.api.FabricLoader;
-import net.minecraft.util.Identifier;
 
 import java.util.Objects;
 
@@ -39,20 +38,18 @@ public class CcaChunkClientNw {
                 try {
                     int chunkX = buffer.readInt();
                     int chunkZ = buffer.readInt();
-                    Identifier componentTypeId = buffer.readIdentifier();
-                    ComponentKey<?> componentType = ComponentRegistry.get(componentTypeId);
+                    ComponentKey<?> componentType = ComponentNetworkIds.readKey(buffer);
                     if (componentType == null) {
                         return;
                     }
-                    buffer.retain();
+                    PendingSyncUpdate update = PendingSyncUpdate.read(componentType, buffer);
                     client.execute(() -> {
                         try {
                             // Note: on the client, unloaded chunks return EmptyChunk
                             componentType.maybeGet(Objects.requireNonNull(client.world).getChunk(chunkX, chunkZ))
-                                .filter(c -> c instanceof AutoSyncedComponent)
-                                .ifPresent(c -> ((AutoSyncedComponent) c).applySyncPacket(buffer));
+                                .ifPresent(update::apply);
                         } finally {
-                            buffer.release();
+                            update.release();
                         }
                     });
                 } catch (Exception e) {
@@ -29,6 +29,7 @@ import dev.onyxstudios.cca.api.v3.component.Component;
 import dev.onyxstudios.cca.api.v3.component.ComponentContainer;
 import dev.onyxstudios.cca.api.v3.component.ComponentFactory;
 import dev.onyxstudios.cca.api.v3.component.ComponentKey;
+import dev.onyxstudios.cca.internal.base.asm.CcaAsmHelper;
 import dev.onyxstudios.cca.internal.base.asm.StaticComponentPluginBase;
 import net.fabricmc.loader.api.entrypoint.EntrypointContainer;
 import net.minecraft.world.chunk.Chunk;
@@ -40,11 +41,20 @@ public final class StaticChunkComponentPlugin extends StaticComponentPluginBase<
     public static final StaticChunkComponentPlugin INSTANCE = new StaticChunkComponentPlugin();
     private static final Supplier<ComponentContainer.Factory<Chunk>> componentsContainerFactory
         = Suppliers.memoize(INSTANCE::buildContainerFactory);
+    private static final Supplier<Boolean> hasServerTickers
+        = Suppliers.memoize(() -> CcaAsmHelper.hasTickers(componentsContainerFactory.get().getClass(), false));
 
     public static ComponentContainer createContainer(Chunk chunk) {
         return componentsContainerFactory.get().createContainer(chunk);
     }
 
+    /**
+     * @return {@code true} if chunk containers have components to tick on the logical server
+     */
+    public static boolean hasServerTickers() {
+        return hasServerTickers.get();
+    }
+
     private StaticChunkComponentPlugin() {
         super("loading a chunk", Chunk.class);
     }
@@ -67,6 +77,6 @@ public final class StaticChunkComponentPlugin extends StaticComponentPluginBase<
     @Override
     public <C extends Component> void register(ComponentKey<? super C> type, Class<C> impl, ComponentFactory<Chunk, ? extends C> factory) {
         this.checkLoading(ChunkComponentFactoryRegistry.class, "register");
-        super.register(type, factory);
+        super.register(type, impl, factory);
     }
 }
@@ -24,33 +24,96 @@ package dev.onyxstudios.cca.mixin.chunk.common;
 
 import dev.onyxstudios.cca.api.v3.component.ComponentContainer;
 import dev.onyxstudios.cca.api.v3.component.ComponentProvider;
+import dev.onyxstudios.cca.internal.base.LazyComponentProvider;
 import dev.onyxstudios.cca.internal.chunk.StaticChunkComponentPlugin;
-import net.minecraft.registry.Registry;
-import net.minecraft.util.math.ChunkPos;
-import net.minecraft.world.HeightLimitView;
-import net.minecraft.world.biome.Biome;
+import net.minecraft.nbt.NbtCompound;
 import net.minecraft.world.chunk.Chunk;
-import net.minecraft.world.chunk.ChunkSection;
-import net.minecraft.world.chunk.UpgradeData;
-import net.minecraft.world.gen.chunk.BlendingData;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Unique;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
-import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+import javax.annotation.Nullable;
 
 @Mixin(Chunk.class)
-public class MixinChunk implements ComponentProvider {
+public class MixinChunk implements ComponentProvider, LazyComponentProvider {
+    @Unique
+    private volatile @Nullable ComponentContainer components;
     @Unique
-    private ComponentContainer components;
+    private @Nullable NbtCompound deferredComponentData;
 
-    @Inject(method = "<init>", at = @At("RETURN"))
-    private void initComponents(ChunkPos pos, UpgradeData upgradeData, HeightLimitView heightLimitView, Registry<Biome> biome, long inhabitedTime, ChunkSection[] sectionArrayInitializer, BlendingData blendingData, CallbackInfo ci) {
-        this.components = StaticChunkComponentPlugin.createContainer((Chunk) (Object) this);
+    @Inject(method = "needsSaving", at = @At("RETURN"), cancellable = true)
+    private void checkDirtyComponents(CallbackInfoReturnable<Boolean> cir) {
+        if (!cir.getReturnValueZ() && this.components != null && this.components.hasDirtyComponents()) {
+            cir.setReturnValue(true);
+        }
     }
 
     @Override
     public ComponentContainer getComponentContainer() {
-        return this.components;
+        ComponentContainer components = this.components;
+
+        if (components == null) {
+            // double-checked, as chunks get generated and loaded on worker threads
+            synchronized (this) {
+                components = this.components;
+
+                if (components == null) {
+                    // Created on first access, as most proto chunks go through worldgen without anything querying their components
+                    components = StaticChunkComponentPlugin.createContainer((Chunk) (Object) this);
+                    this.components = components;
+                    NbtCompound deferred = this.deferredComponentData;
+
+                    if (deferred != null) {
+                        this.deferredComponentData = null;
+                        components.fromTag(deferred);
+                    }
+                }
+            }
+        }
+
+        return components;
+    }
+
+    @Override
+    public void cardinal_readComponentData(NbtCompound tag) {
+        ComponentContainer components = this.components;
+
+        if (components == null) {
+            synchronized (this) {
+                components = this.components;
+
+                if (components == null) {
+                    this.deferredComponentData = LazyComponentProvider.deferComponentData(this.deferredComponentData, tag);
+                    return;
+                }
+            }
+        }
+
+        components.fromTag(tag);
+    }
+
+    @Override
+    public void cardinal_writeComponentData(NbtCompound tag) {
+        ComponentContainer components = this.components;
+
+        if (components == null) {
+            synchronized (this) {
+                components = this.components;
+
+                if (components == null) {
+                    LazyComponentProvider.writeDeferredComponentData(this.deferredComponentData, tag);
+                    return;
+                }
+            }
+        }
+
+        components.toTag(tag);
+    }
+
+    @Override
+    public boolean cardinal_hasComponentContainer() {
+        return this.components != null;
     }
 }
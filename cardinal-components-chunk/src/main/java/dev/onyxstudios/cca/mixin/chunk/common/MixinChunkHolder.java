@@ -22,13 +22,9 @@
  */
 package dev.onyxstudios.cca.mixin.chunk.common;
 
-import dev.onyxstudios.cca.api.v3.chunk.ChunkSyncCallback;
-import net.fabricmc.fabric.api.networking.v1.PlayerLookup;
-import net.minecraft.server.network.ServerPlayerEntity;
+import dev.onyxstudios.cca.internal.base.DeferredSyncProvider;
 import net.minecraft.server.world.ChunkHolder;
-import net.minecraft.server.world.ServerWorld;
 import net.minecraft.world.chunk.WorldChunk;
-import org.objectweb.asm.Opcodes;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
@@ -37,21 +33,10 @@ import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 @Mixin(ChunkHolder.class)
 public abstract class MixinChunkHolder {
     /**
-     * Synchronizes components whenever a {@link net.minecraft.network.packet.s2c.play.ChunkDataS2CPacket} is sent
+     * Synchronizes the components marked for sync since the last update, alongside vanilla's block updates
      */
-    @Inject(
-            method = "flushUpdates",
-            at = @At(
-                    value = "FIELD",
-                    opcode = Opcodes.PUTFIELD,
-                    target = "Lnet/minecraft/server/world/ChunkHolder;pendingBlockUpdates:Z",
-                    ordinal = 0,
-                    shift = At.Shift.AFTER
-            )
-    )
-    private void onPlayerLogIn(WorldChunk chunk, CallbackInfo ci) {
-        for (ServerPlayerEntity p : PlayerLookup.tracking((ServerWorld) chunk.getWorld(), chunk.getPos())) {
-            ChunkSyncCallback.EVENT.invoker().onChunkSync(p, chunk);
-        }
+    @Inject(method = "flushUpdates", at = @At("HEAD"))
+    private void flushComponentSyncs(WorldChunk chunk, CallbackInfo ci) {
+        ((DeferredSyncProvider) chunk).cca$flushDeferredSyncs();
     }
 }
@@ -22,6 +22,7 @@
  */
 package dev.onyxstudios.cca.mixin.chunk.common;
 
+import dev.onyxstudios.cca.internal.base.LazyComponentProvider;
 import net.minecraft.nbt.NbtCompound;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.math.ChunkPos;
@@ -41,12 +42,17 @@ public abstract class MixinChunkSerializer {
     private static void deserialize(ServerWorld world, PointOfInterestStorage pointOfInterestStorage, ChunkPos chunkPos, NbtCompound tag, CallbackInfoReturnable<ProtoChunk> cir) {
         ProtoChunk ret = cir.getReturnValue();
         Chunk chunk = ret instanceof ReadOnlyChunk ? ((ReadOnlyChunk) ret).getWrappedChunk() : ret;
-        chunk.asComponentProvider().getComponentContainer().fromTag(tag);
+        ((LazyComponentProvider) chunk).cardinal_readComponentData(tag);
     }
 
     @Inject(method = "serialize", at = @At("RETURN"))
     private static void serialize(ServerWorld world, Chunk chunk, CallbackInfoReturnable<NbtCompound> cir) {
         NbtCompound ret = cir.getReturnValue();
-        chunk.asComponentProvider().getComponentContainer().toTag(ret);
+        LazyComponentProvider provider = (LazyComponentProvider) chunk;
+        provider.cardinal_writeComponentData(ret);
+
+        if (provider.cardinal_hasComponentContainer()) {
+            chunk.asComponentProvider().getComponentContainer().clearDirtyComponents();
+        }
     }
 }
@@ -24,6 +24,8 @@ package dev.onyxstudios.cca.mixin.chunk.common;
 
 import dev.onyxstudios.cca.api.v3.component.ComponentContainer;
 import dev.onyxstudios.cca.api.v3.component.ComponentProvider;
+import dev.onyxstudios.cca.internal.base.LazyComponentProvider;
+import net.minecraft.nbt.NbtCompound;
 import net.minecraft.world.chunk.ReadOnlyChunk;
 import net.minecraft.world.chunk.WorldChunk;
 import org.spongepowered.asm.mixin.Final;
@@ -33,7 +35,7 @@ import org.spongepowered.asm.mixin.Shadow;
 import javax.annotation.Nonnull;
 
 @Mixin(ReadOnlyChunk.class)
-public abstract class MixinReadOnlyChunk implements ComponentProvider {
+public abstract class MixinReadOnlyChunk implements ComponentProvider, LazyComponentProvider {
     @Shadow @Final private WorldChunk wrapped;
 
     @Nonnull
@@ -41,4 +43,19 @@ public abstract class MixinReadOnlyChunk implements ComponentProvider {
     public ComponentContainer getComponentContainer() {
         return this.wrapped.asComponentProvider().getComponentContainer();
     }
+
+    @Override
+    public void cardinal_readComponentData(NbtCompound tag) {
+        ((LazyComponentProvider) this.wrapped).cardinal_readComponentData(tag);
+    }
+
+    @Override
+    public void cardinal_writeComponentData(NbtCompound tag) {
+        ((LazyComponentProvider) this.wrapped).cardinal_writeComponentData(tag);
+    }
+
+    @Override
+    public boolean cardinal_hasComponentContainer() {
+        return ((LazyComponentProvider) this.wrapped).cardinal_hasComponentContainer();
+    }
 }
@@ -22,6 +22,7 @@
  */
 package dev.onyxstudios.cca.mixin.chunk.common;
 
+import dev.onyxstudios.cca.internal.chunk.StaticChunkComponentPlugin;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.world.chunk.WorldChunk;
 import org.spongepowered.asm.mixin.Mixin;
@@ -33,6 +34,9 @@ import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 public abstract class MixinServerWorld {
     @Inject(method = "tickChunk", at = @At("RETURN"))
     private void tick(WorldChunk chunk, int randomTickSpeed, CallbackInfo ci) {
-        chunk.asComponentProvider().getComponentContainer().tickServerComponents();
+        // every chunk shares the same container class, so either all of them tick or none does
+        if (StaticChunkComponentPlugin.hasServerTickers()) {
+            chunk.asComponentProvider().getComponentContainer().tickServerComponents();
+        }
     }
 }
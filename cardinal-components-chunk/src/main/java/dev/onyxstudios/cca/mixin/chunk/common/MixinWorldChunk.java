@@ -26,13 +26,20 @@ import dev.onyxstudios.cca.api.v3.component.ComponentKey;
 import dev.onyxstudios.cca.api.v3.component.ComponentProvider;
 import dev.onyxstudios.cca.api.v3.component.sync.AutoSyncedComponent;
 import dev.onyxstudios.cca.api.v3.component.sync.ComponentPacketWriter;
+import dev.onyxstudios.cca.internal.base.ComponentNetworkIds;
+import dev.onyxstudios.cca.internal.base.DeferredSyncProvider;
+import dev.onyxstudios.cca.internal.base.LazyComponentProvider;
+import dev.onyxstudios.cca.internal.base.PendingComponentSyncs;
 import dev.onyxstudios.cca.internal.chunk.ComponentsChunkNetworking;
+import it.unimi.dsi.fastutil.objects.ReferenceLinkedOpenHashSet;
 import net.fabricmc.fabric.api.networking.v1.PacketByteBufs;
 import net.fabricmc.fabric.api.networking.v1.PlayerLookup;
+import net.minecraft.nbt.NbtCompound;
 import net.minecraft.network.PacketByteBuf;
 import net.minecraft.network.packet.s2c.play.CustomPayloadS2CPacket;
 import net.minecraft.registry.Registry;
 import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ChunkHolder;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.HeightLimitView;
@@ -47,14 +54,19 @@ import net.minecraft.world.gen.chunk.BlendingData;
 import org.jetbrains.annotations.Nullable;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.Unique;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 
 import java.util.List;
+import java.util.Set;
 
 @Mixin(WorldChunk.class)
-public abstract class MixinWorldChunk extends Chunk implements ComponentProvider {
+public abstract class MixinWorldChunk extends Chunk implements ComponentProvider, DeferredSyncProvider {
+    @Unique
+    private @Nullable Set<ComponentKey<?>> cca$deferredSyncs;
+
     public MixinWorldChunk(ChunkPos pos, UpgradeData upgradeData, HeightLimitView heightLimitView, Registry<Biome> biome, long inhabitedTime, @Nullable ChunkSection[] sectionArrayInitializer, @Nullable BlendingData blendingData) {
         super(pos, upgradeData, heightLimitView, biome, inhabitedTime, sectionArrayInitializer, blendingData);
     }
@@ -62,6 +74,9 @@ public abstract class MixinWorldChunk extends Chunk implements ComponentProvider
     @Shadow
     public abstract World getWorld();
 
+    @Shadow
+    public abstract ChunkHolder.LevelType getLevelType();
+
     @Override
     public Iterable<ServerPlayerEntity> getRecipientsForComponentSync() {
         if (!this.getWorld().isClient()) {
@@ -76,13 +91,51 @@ public abstract class MixinWorldChunk extends Chunk implements ComponentProvider
         ChunkPos pos = this.getPos();
         buf.writeInt(pos.x);
         buf.writeInt(pos.z);
-        buf.writeIdentifier(key.getId());
+        ComponentNetworkIds.writeKey(buf, key, recipient);
         writer.writeSyncPacket(buf, recipient);
         return new CustomPayloadS2CPacket(ComponentsChunkNetworking.PACKET_ID, buf);
     }
 
+    @Override
+    public boolean cca$deferSync(ComponentKey<?> key) {
+        // only ticking chunks get their updates flushed every tick, other chunks sync right away
+        if (this.getWorld().isClient() || !PendingComponentSyncs.isServerThread() || !this.getLevelType().isAfter(ChunkHolder.LevelType.TICKING)) {
+            return false;
+        }
+
+        if (this.cca$deferredSyncs == null) {
+            this.cca$deferredSyncs = new ReferenceLinkedOpenHashSet<>();
+        }
+
+        this.cca$deferredSyncs.add(key);
+        return true;
+    }
+
+    @Override
+    public void cca$flushDeferredSyncs() {
+        Set<ComponentKey<?>> keys = this.cca$deferredSyncs;
+
+        if (keys != null && !keys.isEmpty()) {
+            // syncs requested while flushing go to the next update
+            this.cca$deferredSyncs = null;
+
+            for (ComponentKey<?> key : keys) {
+                key.syncImmediately(this);
+            }
+        }
+    }
+
     @Inject(method = "<init>(Lnet/minecraft/server/world/ServerWorld;Lnet/minecraft/world/chunk/ProtoChunk;Lnet/minecraft/world/chunk/WorldChunk$EntityLoader;)V", at = @At("RETURN"))
     private void copyFromProto(ServerWorld world, ProtoChunk proto, WorldChunk.EntityLoader entityLoader, CallbackInfo ci) {
-        this.getComponentContainer().copyFrom(proto.asComponentProvider().getComponentContainer());
+        LazyComponentProvider lazyProto = (LazyComponentProvider) proto;
+
+        if (lazyProto.cardinal_hasComponentContainer()) {
+            this.getComponentContainer().copyFrom(proto.asComponentProvider().getComponentContainer());
+        } else {
+            // Neither container exists yet, pass the pending data along instead of creating both
+            NbtCompound componentData = new NbtCompound();
+            lazyProto.cardinal_writeComponentData(componentData);
+            ((LazyComponentProvider) this).cardinal_readComponentData(componentData);
+        }
     }
 }
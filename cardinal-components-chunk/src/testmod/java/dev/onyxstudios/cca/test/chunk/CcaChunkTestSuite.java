@@ -27,6 +27,7 @@ import dev.onyxstudios.cca.test.base.Vita;
 import io.github.ladysnake.elmendorf.ElmendorfTestContext;
 import io.github.ladysnake.elmendorf.GameTestUtil;
 import net.fabricmc.fabric.api.gametest.v1.FabricGameTest;
+import net.minecraft.block.Blocks;
 import net.minecraft.nbt.NbtCompound;
 import net.minecraft.test.GameTest;
 import net.minecraft.test.TestContext;
@@ -48,6 +49,20 @@ public class CcaChunkTestSuite implements FabricGameTest {
         ctx.complete();
     }
 
+    @GameTest(templateName = EMPTY_STRUCTURE)
+    public void unaccessedChunkComponentsKeepData(TestContext ctx) {
+        ChunkPos pos = new ChunkPos(ctx.getAbsolutePos(new BlockPos(1, 0, 1)));
+        Chunk c = new WorldChunk(ctx.getWorld(), pos);
+        c.getComponent(Vita.KEY).setVitality(42);
+        NbtCompound nbt = ChunkSerializer.serialize(ctx.getWorld(), c);
+        // c1's components never get created, its data must be saved as it was read
+        Chunk c1 = ChunkSerializer.deserialize(ctx.getWorld(), ctx.getWorld().getPointOfInterestStorage(), pos, nbt);
+        NbtCompound nbt1 = ChunkSerializer.serialize(ctx.getWorld(), c1);
+        Chunk c2 = ChunkSerializer.deserialize(ctx.getWorld(), ctx.getWorld().getPointOfInterestStorage(), pos, nbt1);
+        GameTestUtil.assertTrue("Deferred chunk component data should survive reserialization", c2.getComponent(Vita.KEY).getVitality() == 42);
+        ctx.complete();
+    }
+
     @GameTest(templateName = EMPTY_STRUCTURE)
     public void chunksTick(TestContext ctx) {
         ((ElmendorfTestContext) ctx).spawnServerPlayer(0, 0, 0);    // Ensure chunk gets ticked
@@ -58,4 +73,23 @@ public class CcaChunkTestSuite implements FabricGameTest {
             ctx.complete();
         });
     }
+
+    @GameTest(templateName = EMPTY_STRUCTURE)
+    public void blockUpdatesDoNotSyncChunkComponents(TestContext ctx) {
+        ((ElmendorfTestContext) ctx).spawnServerPlayer(1, 0, 1);
+        BlockPos pos = new BlockPos(1, 1, 1);
+        ChunkVita vita = (ChunkVita) ctx.getWorld().getWorldChunk(ctx.getAbsolutePos(pos)).getComponent(Vita.KEY);
+        // let the chunk get sent to the player first
+        ctx.waitAndRun(2, () -> {
+            int baseSyncs = vita.getSyncPackets();
+            ctx.setBlockState(pos, Blocks.STONE);
+            ctx.waitAndRun(1, () -> {
+                ctx.setBlockState(pos, Blocks.DIRT);
+                ctx.waitAndRun(2, () -> {
+                    GameTestUtil.assertTrue("Block updates should not send chunk component packets", vita.getSyncPackets() == baseSyncs);
+                    ctx.complete();
+                });
+            });
+        });
+    }
 }
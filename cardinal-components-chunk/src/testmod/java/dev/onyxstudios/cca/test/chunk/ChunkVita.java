@@ -24,10 +24,13 @@ package dev.onyxstudios.cca.test.chunk;
 
 import dev.onyxstudios.cca.api.v3.component.sync.AutoSyncedComponent;
 import dev.onyxstudios.cca.test.base.BaseVita;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.world.chunk.Chunk;
 
 public class ChunkVita extends BaseVita implements AutoSyncedComponent {
     private final Chunk owner;
+    private int syncPackets;
 
     public ChunkVita(Chunk owner) {
         this.owner = owner;
@@ -39,4 +42,14 @@ public class ChunkVita extends BaseVita implements AutoSyncedComponent {
         this.owner.syncComponent(KEY);
         this.owner.setNeedsSaving(true);
     }
+
+    @Override
+    public void writeSyncPacket(PacketByteBuf buf, ServerPlayerEntity recipient) {
+        this.syncPackets++;
+        AutoSyncedComponent.super.writeSyncPacket(buf, recipient);
+    }
+
+    public int getSyncPackets() {
+        return this.syncPackets;
+    }
 }
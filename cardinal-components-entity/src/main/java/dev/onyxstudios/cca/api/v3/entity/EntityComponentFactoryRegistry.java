@@ -128,6 +128,18 @@ public interface EntityComponentFactoryRegistry {
          */
         <I extends C> Registration<I, E> impl(Class<I> impl);
 
+        /**
+         * Defer the creation of the component until it is first accessed.
+         *
+         * <p>Lazy components that have never been accessed are neither ticked nor saved.
+         * This can considerably reduce memory usage for components that are only relevant to
+         * a few of the entities they are attached to.
+         *
+         * <p>A lazy component is still created eagerly if a component that is not lazy depends on it.
+         */
+        @ApiStatus.Experimental
+        Registration<C, E> lazy();
+
         /**
          * Set the respawn copy strategy used for components of a given type.
          *
@@ -26,10 +26,12 @@ import dev.onyxstudios.cca.api.v3.component.Component;
 import dev.onyxstudios.cca.api.v3.component.ComponentKey;
 import dev.onyxstudios.cca.api.v3.component.ComponentProvider;
 import dev.onyxstudios.cca.api.v3.component.sync.AutoSyncedComponent;
+import dev.onyxstudios.cca.api.v3.component.sync.ComponentPacketWriter;
 import dev.onyxstudios.cca.api.v3.entity.PlayerCopyCallback;
 import dev.onyxstudios.cca.api.v3.entity.PlayerSyncCallback;
 import dev.onyxstudios.cca.api.v3.entity.RespawnCopyStrategy;
-import dev.onyxstudios.cca.api.v3.entity.TrackingStartCallback;
+import dev.onyxstudios.cca.internal.base.ComponentNetworkIds;
+import net.fabricmc.fabric.api.networking.v1.PacketByteBufs;
 import net.fabricmc.loader.api.FabricLoader;
 import net.minecraft.entity.Entity;
 import net.minecraft.network.PacketByteBuf;
@@ -38,6 +40,7 @@ import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.util.Identifier;
 import net.minecraft.world.GameRules;
 
+import javax.annotation.Nullable;
 import java.util.Set;
 
 public final class CardinalComponentsEntity {
@@ -45,17 +48,28 @@ public final class CardinalComponentsEntity {
      * {@link CustomPayloadS2CPacket} channel for default entity component synchronization.
      *
      * <p> Packets emitted on this channel must begin with, in order, the {@link Entity#getId() entity id} (as an int),
-     * and the {@link ComponentKey#getId() component's type} (as an Identifier).
+     * and the {@link ComponentKey#getId() component's type} (as written by {@link dev.onyxstudios.cca.internal.base.ComponentNetworkIds#writeKey ComponentNetworkIds#writeKey}).
      *
      * <p> Components synchronized through this channel will have {@linkplain AutoSyncedComponent#applySyncPacket(PacketByteBuf)}
      * called on the game thread.
      */
     public static final Identifier PACKET_ID = new Identifier("cardinal-components", "entity_sync");
 
+    /**
+     * {@link CustomPayloadS2CPacket} channel for the initial synchronization of every component of an entity.
+     *
+     * <p> Packets emitted on this channel are bundled with the entity's spawn packet. They begin with the
+     * {@link Entity#getId() entity id} (as an int), followed by, for each component, its type
+     * (as written by {@link dev.onyxstudios.cca.internal.base.ComponentNetworkIds#writeKey ComponentNetworkIds#writeKey}),
+     * the length of its data (as an int), and the data itself.
+     *
+     * <p> Components synchronized through this channel will all be updated within the same task on the game thread.
+     */
+    public static final Identifier SPAWN_PACKET_ID = new Identifier("cardinal-components", "entity_spawn_sync");
+
     public static void init() {
         if (FabricLoader.getInstance().isModLoaded("fabric-networking-api-v1")) {
             PlayerSyncCallback.EVENT.register(player -> syncEntityComponents(player, player));
-            TrackingStartCallback.EVENT.register(CardinalComponentsEntity::syncEntityComponents);
         }
         PlayerCopyCallback.EVENT.register(CardinalComponentsEntity::copyData);
     }
@@ -75,6 +89,35 @@ public final class CardinalComponentsEntity {
         RespawnCopyStrategy.get(key).copyForRespawn(from, to, lossless, keepInventory, sameCharacter);
     }
 
+    /**
+     * Writes the initial state of every component of {@code tracked} that should be synced with {@code player}.
+     *
+     * @return a packet to send along with the entity's spawn packet, or {@code null} if there is nothing to sync
+     */
+    public static @Nullable CustomPayloadS2CPacket createSpawnSyncPacket(ServerPlayerEntity player, Entity tracked) {
+        ComponentProvider provider = (ComponentProvider) tracked;
+        PacketByteBuf buf = null;
+
+        for (ComponentKey<?> key : provider.getComponentContainer().keys()) {
+            ComponentPacketWriter writer = key.getFullSyncWriter(player, provider);
+
+            if (writer == null) continue;
+
+            if (buf == null) {
+                buf = PacketByteBufs.create();
+                buf.writeInt(tracked.getId());
+            }
+
+            ComponentNetworkIds.writeKey(buf, key, player);
+            int lengthIndex = buf.writerIndex();
+            buf.writeInt(0);
+            writer.writeSyncPacket(buf, player);
+            buf.setInt(lengthIndex, buf.writerIndex() - lengthIndex - Integer.BYTES);
+        }
+
+        return buf == null ? null : new CustomPayloadS2CPacket(SPAWN_PACKET_ID, buf);
+    }
+
     private static void syncEntityComponents(ServerPlayerEntity player, Entity tracked) {
         ComponentProvider provider = (ComponentProvider) tracked;
 
@@ -28,11 +28,14 @@ import dev.onyxstudios.cca.api.v3.component.ComponentKey;
 import dev.onyxstudios.cca.api.v3.component.CopyableComponent;
 import dev.onyxstudios.cca.api.v3.entity.PlayerComponent;
 import dev.onyxstudios.cca.api.v3.entity.RespawnCopyStrategy;
+import dev.onyxstudios.cca.internal.base.ContainerFactoryWarmUp;
+import dev.onyxstudios.cca.internal.base.asm.CcaAsmHelper;
 import net.minecraft.entity.Entity;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.Objects;
+import java.util.function.Supplier;
 
 public final class CardinalEntityInternals {
 
@@ -40,7 +43,37 @@ public final class CardinalEntityInternals {
 
     private CardinalEntityInternals() { throw new AssertionError(); }
 
-    private static final Map<Class<? extends Entity>, ComponentContainer.Factory<Entity>> entityContainerFactories = new HashMap<>();
+    /**
+     * Factories that have been resolved so far, only accessed while holding the class lock.
+     */
+    private static final Map<Class<? extends Entity>, ComponentContainer.Factory<Entity>> resolvedFactories = new HashMap<>();
+    /**
+     * Lock-free view of {@link #resolvedFactories}, safe to query from any thread.
+     */
+    private static final ClassValue<ComponentContainer.Factory<Entity>> entityContainerFactories = new ClassValue<>() {
+        @Override
+        protected ComponentContainer.Factory<Entity> computeValue(Class<?> type) {
+            return getEntityFactory(type.asSubclass(Entity.class));
+        }
+    };
+    /**
+     * Whether containers of a given entity class have server tickers, read from the flags of their generated factory.
+     */
+    private static final ClassValue<Boolean> serverTicking = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return CcaAsmHelper.hasTickers(entityContainerFactories.get(type).getClass(), false);
+        }
+    };
+    /**
+     * Whether containers of a given entity class have client tickers, read from the flags of their generated factory.
+     */
+    private static final ClassValue<Boolean> clientTicking = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return CcaAsmHelper.hasTickers(entityContainerFactories.get(type).getClass(), true);
+        }
+    };
     private static final Map<ComponentKey<?>, RespawnCopyStrategy<?>> respawnCopyStrategies = new HashMap<>();
     private static final Object factoryMutex = new Object();
 
@@ -50,20 +83,29 @@ public final class CardinalEntityInternals {
      * and every superclass, in order from least specific (Entity) to most specific ({@code clazz}).
      */
     public static ComponentContainer createEntityComponentContainer(Entity entity) {
-        Class<? extends Entity> entityClass = entity.getClass();
+        return entityContainerFactories.get(entity.getClass()).createContainer(entity);
+    }
 
-        return Objects.requireNonNullElseGet(
-            entityContainerFactories.get(entityClass),  // Non-synchronized fast path
-            () -> getEntityFactory(entityClass)
-        ).createContainer(entity);
+    /**
+     * @return {@code true} if entities of the given class may have components to tick on the logical server
+     */
+    public static boolean hasServerTickers(Class<? extends Entity> entityClass) {
+        return serverTicking.get(entityClass);
+    }
+
+    /**
+     * @return {@code true} if entities of the given class may have components to tick on the logical client
+     */
+    public static boolean hasClientTickers(Class<? extends Entity> entityClass) {
+        return clientTicking.get(entityClass);
     }
 
     // can be called from both client and server thread, see issue #26
     private static synchronized ComponentContainer.Factory<Entity> getEntityFactory(Class<? extends Entity> entityClass) {
         // need to check again despite synchronization, because
         // 1- recursive calls
-        // 2- the factory may have been generated while waiting from createComponents
-        ComponentContainer.Factory<Entity> existing = entityContainerFactories.get(entityClass);
+        // 2- ClassValue may compute the same value concurrently, and a factory class can only be generated once
+        ComponentContainer.Factory<Entity> existing = resolvedFactories.get(entityClass);
         if (existing != null) return existing;
 
         ComponentContainer.Factory<Entity> factory;
@@ -74,10 +116,29 @@ public final class CardinalEntityInternals {
             assert Entity.class.isAssignableFrom(superclass) : "requiresStaticFactory returned false on Entity?";
             factory = /* recursive call */ getEntityFactory(superclass);
         }
-        entityContainerFactories.put(entityClass, factory);
+        resolvedFactories.put(entityClass, factory);
         return factory;
     }
 
+    /**
+     * Generates the container factory of every entity class with registered components,
+     * so that they are not spun the first time such an entity gets created.
+     *
+     * <p>{@code EntityType} does not expose the class of the entities it creates, but classes without
+     * registrations of their own simply reuse the factory of their closest registered superclass.
+     */
+    public static synchronized void warmUpFactories() {
+        Map<Class<? extends Entity>, Supplier<ComponentContainer.Factory<Entity>>> builders = new LinkedHashMap<>();
+
+        for (Class<? extends Entity> entityClass : StaticEntityComponentPlugin.INSTANCE.getRegisteredTargets()) {
+            if (!resolvedFactories.containsKey(entityClass) && StaticEntityComponentPlugin.INSTANCE.requiresStaticFactory(entityClass)) {
+                builders.put(entityClass, StaticEntityComponentPlugin.INSTANCE.prepareDedicatedFactory(entityClass)::build);
+            }
+        }
+
+        resolvedFactories.putAll(ContainerFactoryWarmUp.buildAll("entity", builders));
+    }
+
     public static <C extends Component> void registerRespawnCopyStrat(ComponentKey<? super C> type, RespawnCopyStrategy<? super C> strategy) {
         respawnCopyStrategies.put(type, strategy);
     }
@@ -23,14 +23,16 @@
 package dev.onyxstudios.cca.internal.entity;
 
 import dev.onyxstudios.cca.api.v3.component.ComponentKey;
-import dev.onyxstudios.cca.api.v3.component.ComponentRegistry;
-import dev.onyxstudios.cca.api.v3.component.sync.AutoSyncedComponent;
+import dev.onyxstudios.cca.internal.base.ComponentNetworkIds;
 import dev.onyxstudios.cca.internal.base.ComponentsInternals;
+import dev.onyxstudios.cca.internal.base.PendingSyncUpdate;
 import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
 import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.entity.Entity;
 import net.minecraft.network.PacketByteBuf;
-import net.minecraft.util.Identifier;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 public final class CcaEntityClientNw {
@@ -39,19 +41,17 @@ public final class CcaEntityClientNw {
             ClientPlayNetworking.registerGlobalReceiver(CardinalComponentsEntity.PACKET_ID, (client, handler, buffer, res) -> {
                 try {
                     int entityId = buffer.readInt();
-                    Identifier componentTypeId = buffer.readIdentifier();
-                    ComponentKey<?> componentType = ComponentRegistry.get(componentTypeId);
+                    ComponentKey<?> componentType = ComponentNetworkIds.readKey(buffer);
                     if (componentType == null) {
                         return;
                     }
-                    PacketByteBuf copy = new PacketByteBuf(buffer.copy());
+                    PendingSyncUpdate update = PendingSyncUpdate.read(componentType, buffer);
                     client.execute(() -> {
                         try {
                             componentType.maybeGet(Objects.requireNonNull(client.world).getEntityById(entityId))
-                                .filter(c -> c instanceof AutoSyncedComponent)
-                                .ifPresent(c -> ((AutoSyncedComponent) c).applySyncPacket(copy));
+                                .ifPresent(update::apply);
                         } finally {
-                            copy.release();
+                            update.release();
                         }
                     });
                 } catch (Exception e) {
@@ -59,6 +59,50 @@ public final class CcaEntityClientNw {
                     throw e;
                 }
             });
+            ClientPlayNetworking.registerGlobalReceiver(CardinalComponentsEntity.SPAWN_PACKET_ID, (client, handler, buffer, res) -> {
+                List<ComponentUpdate> updates = new ArrayList<>();
+                boolean scheduled = false;
+
+                try {
+                    int entityId = buffer.readInt();
+
+                    while (buffer.isReadable()) {
+                        ComponentKey<?> componentType = ComponentNetworkIds.readKey(buffer);
+                        PacketByteBuf data = new PacketByteBuf(buffer.readSlice(buffer.readInt()));
+
+                        if (componentType != null) {
+                            updates.add(new ComponentUpdate(componentType, PendingSyncUpdate.read(componentType, data)));
+                        }
+                    }
+
+                    client.execute(() -> {
+                        try {
+                            Entity entity = Objects.requireNonNull(client.world).getEntityById(entityId);
+
+                            for (ComponentUpdate update : updates) {
+                                update.key().maybeGet(entity).ifPresent(update.update()::apply);
+                            }
+                        } finally {
+                            for (ComponentUpdate update : updates) {
+                                update.update().release();
+                            }
+                        }
+                    });
+                    scheduled = true;
+                } catch (Exception e) {
+                    ComponentsInternals.LOGGER.error("Error while reading entity components from network", e);
+                    throw e;
+                } finally {
+                    // updates never handed over to the game thread still hold retained slices of the packet
+                    if (!scheduled) {
+                        for (ComponentUpdate update : updates) {
+                            update.update().release();
+                        }
+                    }
+                }
+            });
         }
     }
+
+    private record ComponentUpdate(ComponentKey<?> key, PendingSyncUpdate update) { }
 }
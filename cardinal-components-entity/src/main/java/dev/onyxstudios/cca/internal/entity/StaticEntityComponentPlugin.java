@@ -72,7 +72,28 @@ public final class StaticEntityComponentPlugin extends LazyDispatcher implements
         return entityClass == Entity.class || this.componentFactories.containsKey(entityClass);
     }
 
+    /**
+     * @return every entity class for which a dedicated container factory may be built without knowing any subclass
+     */
+    public List<Class<? extends Entity>> getRegisteredTargets() {
+        this.ensureInitialized();
+
+        List<Class<? extends Entity>> targets = new ArrayList<>();
+        targets.add(Entity.class);
+        for (Class<? extends Entity> target : this.componentFactories.keySet()) {
+            if (target != Entity.class) targets.add(target);
+        }
+        return targets;
+    }
+
     public ComponentContainer.Factory<Entity> buildDedicatedFactory(Class<? extends Entity> entityClass) {
+        return this.prepareDedicatedFactory(entityClass).build();
+    }
+
+    /**
+     * Resolves the components of a dedicated container factory, without generating any class yet.
+     */
+    public ComponentContainer.Factory.Builder<Entity> prepareDedicatedFactory(Class<? extends Entity> entityClass) {
         this.ensureInitialized();
 
         var compiled = new LinkedHashMap<>(this.componentFactories.getOrDefault(entityClass, Collections.emptyMap()));
@@ -90,14 +111,14 @@ public final class StaticEntityComponentPlugin extends LazyDispatcher implements
             addToBuilder(builder, entry);
         }
 
-        return builder.build();
+        return builder;
     }
 
     private <C extends Component> void addToBuilder(ComponentContainer.Factory.Builder<Entity> builder, Map.Entry<ComponentKey<?>, QualifiedComponentFactory<ComponentFactory<? extends Entity, ?>>> entry) {
         @SuppressWarnings("unchecked") var key = (ComponentKey<C>) entry.getKey();
         @SuppressWarnings("unchecked") var factory = (ComponentFactory<Entity, C>) entry.getValue().factory();
         @SuppressWarnings("unchecked") var impl = (Class<C>) entry.getValue().impl();
-        builder.component(key, impl, factory, entry.getValue().dependencies());
+        builder.component(key, impl, factory, entry.getValue().dependencies(), entry.getValue().lazy());
     }
 
     @Override
@@ -172,6 +193,7 @@ public final class StaticEntityComponentPlugin extends LazyDispatcher implements
         private final Set<ComponentKey<?>> dependencies;
         private Class<C> componentClass;
         private Predicate<Class<? extends E>> test;
+        private boolean lazy;
 
         RegistrationImpl(Class<E> target, ComponentKey<C> key) {
             this.target = target;
@@ -200,6 +222,12 @@ public final class StaticEntityComponentPlugin extends LazyDispatcher implements
             return ret;
         }
 
+        @Override
+        public Registration<C, E> lazy() {
+            this.lazy = true;
+            return this;
+        }
+
         @Override
         public Registration<C, E> respawnStrategy(RespawnCopyStrategy<? super C> strategy) {
             CardinalEntityInternals.registerRespawnCopyStrat(this.key, strategy);
@@ -213,7 +241,7 @@ public final class StaticEntityComponentPlugin extends LazyDispatcher implements
                 StaticEntityComponentPlugin.this.register0(
                     this.target,
                     this.key,
-                    new QualifiedComponentFactory<>(factory, this.componentClass, this.dependencies)
+                    new QualifiedComponentFactory<>(factory, this.componentClass, this.dependencies, this.lazy)
                 );
             } else {
                 StaticEntityComponentPlugin.this.dynamicFactories.add(new PredicatedComponentFactory<>(
@@ -222,7 +250,8 @@ public final class StaticEntityComponentPlugin extends LazyDispatcher implements
                     new QualifiedComponentFactory<>(
                         entity -> factory.createComponent(this.target.cast(entity)),
                         this.componentClass,
-                        this.dependencies
+                        this.dependencies,
+                        this.lazy
                     )
                 ));
             }
@@ -23,6 +23,7 @@
 package dev.onyxstudios.cca.mixin.entity.client;
 
 import dev.onyxstudios.cca.api.v3.component.ComponentProvider;
+import dev.onyxstudios.cca.internal.entity.CardinalEntityInternals;
 import net.minecraft.client.world.ClientWorld;
 import net.minecraft.entity.Entity;
 import org.spongepowered.asm.mixin.Mixin;
@@ -35,11 +36,16 @@ public abstract class MixinClientWorld {
 
     @Inject(method = "tickEntity", at = @At(value = "INVOKE", target = "Lnet/minecraft/entity/Entity;tick()V", shift = At.Shift.AFTER))
     private void tick(Entity entity, CallbackInfo ci) {
-        ((ComponentProvider) entity).getComponentContainer().tickClientComponents();
+        // skips non-ticking entities without creating their container, nor dispatching an empty tick
+        if (CardinalEntityInternals.hasClientTickers(entity.getClass())) {
+            ((ComponentProvider) entity).getComponentContainer().tickClientComponents();
+        }
     }
 
     @Inject(method = "tickPassenger", at = @At(value = "INVOKE", target = "Lnet/minecraft/entity/Entity;tickRiding()V", shift = At.Shift.AFTER))
     private void tickRiding(Entity vehicle, Entity passenger, CallbackInfo ci) {
-        ((ComponentProvider) passenger).getComponentContainer().tickClientComponents();
+        if (CardinalEntityInternals.hasClientTickers(passenger.getClass())) {
+            ((ComponentProvider) passenger).getComponentContainer().tickClientComponents();
+        }
     }
 }
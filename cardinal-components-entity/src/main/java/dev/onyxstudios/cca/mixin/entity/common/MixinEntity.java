@@ -27,6 +27,8 @@ import dev.onyxstudios.cca.api.v3.component.ComponentKey;
 import dev.onyxstudios.cca.api.v3.component.ComponentProvider;
 import dev.onyxstudios.cca.api.v3.component.sync.AutoSyncedComponent;
 import dev.onyxstudios.cca.api.v3.component.sync.ComponentPacketWriter;
+import dev.onyxstudios.cca.internal.base.ComponentNetworkIds;
+import dev.onyxstudios.cca.internal.base.LazyComponentProvider;
 import dev.onyxstudios.cca.internal.entity.CardinalComponentsEntity;
 import dev.onyxstudios.cca.internal.entity.CardinalEntityInternals;
 import net.fabricmc.fabric.api.networking.v1.PacketByteBufs;
@@ -35,7 +37,9 @@ import net.minecraft.entity.Entity;
 import net.minecraft.nbt.NbtCompound;
 import net.minecraft.network.PacketByteBuf;
 import net.minecraft.network.packet.s2c.play.CustomPayloadS2CPacket;
+import net.minecraft.server.network.EntityTrackingListener;
 import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
 import net.minecraft.world.World;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
@@ -50,36 +54,97 @@ import javax.annotation.Nullable;
 import java.util.ArrayDeque;
 import java.util.Deque;
 import java.util.List;
+import java.util.function.Consumer;
 
 @Mixin(Entity.class)
-public abstract class MixinEntity implements ComponentProvider {
+public abstract class MixinEntity implements ComponentProvider, LazyComponentProvider {
     @Unique
-    private ComponentContainer components;
+    private volatile @Nullable ComponentContainer components;
+    @Unique
+    private @Nullable NbtCompound deferredComponentData;
 
     @Shadow
     public World world;
 
     @Shadow public abstract int getId();
 
-    @Inject(method = "<init>*", at = @At("RETURN"))
-    private void initDataTracker(CallbackInfo ci) {
-        this.components = CardinalEntityInternals.createEntityComponentContainer((Entity) (Object) this);
-    }
-
     @Inject(method = "writeNbt", at = @At("RETURN"))
     private void toTag(NbtCompound inputTag, CallbackInfoReturnable<NbtCompound> cir) {
-        this.components.toTag(cir.getReturnValue());
+        this.cardinal_writeComponentData(cir.getReturnValue());
     }
 
     @Inject(method = "readNbt", at = @At(value = "INVOKE", target = "Lnet/minecraft/entity/Entity;readCustomDataFromNbt(Lnet/minecraft/nbt/NbtCompound;)V", shift = At.Shift.AFTER))
     private void fromTag(NbtCompound tag, CallbackInfo ci) {
-        this.components.fromTag(tag);
+        this.cardinal_readComponentData(tag);
     }
 
     @Nonnull
     @Override
     public ComponentContainer getComponentContainer() {
-        return this.components;
+        ComponentContainer components = this.components;
+
+        if (components == null) {
+            // double-checked, as entities can also be created and loaded off-thread
+            synchronized (this) {
+                components = this.components;
+
+                if (components == null) {
+                    // Created on first access, as many entities get discarded or only live on one side before anything queries their components
+                    components = CardinalEntityInternals.createEntityComponentContainer((Entity) (Object) this);
+                    // published before reading saved data, so that components querying their provider get this container
+                    this.components = components;
+                    NbtCompound deferred = this.deferredComponentData;
+
+                    if (deferred != null) {
+                        this.deferredComponentData = null;
+                        components.fromTag(deferred);
+                    }
+                }
+            }
+        }
+
+        return components;
+    }
+
+    @Override
+    public void cardinal_readComponentData(NbtCompound tag) {
+        ComponentContainer components = this.components;
+
+        if (components == null) {
+            synchronized (this) {
+                components = this.components;
+
+                if (components == null) {
+                    this.deferredComponentData = LazyComponentProvider.deferComponentData(this.deferredComponentData, tag);
+                    return;
+                }
+            }
+        }
+
+        components.fromTag(tag);
+    }
+
+    @Override
+    public void cardinal_writeComponentData(NbtCompound tag) {
+        ComponentContainer components = this.components;
+
+        if (components == null) {
+            synchronized (this) {
+                components = this.components;
+
+                if (components == null) {
+                    LazyComponentProvider.writeDeferredComponentData(this.deferredComponentData, tag);
+                    return;
+                }
+            }
+        }
+
+        components.toTag(tag);
+    }
+
+    @Override
+    public boolean cardinal_hasComponentContainer() {
+        return this.components != null;
     }
 
     @Override
@@ -95,12 +160,30 @@ public abstract class MixinEntity implements ComponentProvider {
         return List.of();
     }
 
+    @Override
+    public void forEachSyncRecipient(Consumer<ServerPlayerEntity> action) {
+        if (this.world instanceof ServerWorld serverWorld) {
+            if ((Object) this instanceof ServerPlayerEntity player && player.networkHandler != null) {
+                action.accept(player);
+            }
+
+            // same players as PlayerLookup#tracking, read straight from the tracker
+            EntityTrackerAccessor tracker = ((ThreadedAnvilChunkStorageAccessor) serverWorld.getChunkManager().threadedAnvilChunkStorage).cca$getEntityTrackers().get(this.getId());
+
+            if (tracker != null) {
+                for (EntityTrackingListener listener : tracker.cca$getListeners()) {
+                    action.accept(listener.getPlayer());
+                }
+            }
+        }
+    }
+
     @Nullable
     @Override
     public <C extends AutoSyncedComponent> CustomPayloadS2CPacket toComponentPacket(ComponentKey<? super C> key, ComponentPacketWriter writer, ServerPlayerEntity recipient) {
         PacketByteBuf buf = PacketByteBufs.create();
         buf.writeInt(this.getId());
-        buf.writeIdentifier(key.getId());
+        ComponentNetworkIds.writeKey(buf, key, recipient);
         writer.writeSyncPacket(buf, recipient);
         return new CustomPayloadS2CPacket(CardinalComponentsEntity.PACKET_ID, buf);
     }
@@ -23,24 +23,57 @@
 package dev.onyxstudios.cca.mixin.entity.common;
 
 import dev.onyxstudios.cca.api.v3.entity.TrackingStartCallback;
+import dev.onyxstudios.cca.internal.entity.CardinalComponentsEntity;
+import net.fabricmc.loader.api.FabricLoader;
 import net.minecraft.entity.Entity;
+import net.minecraft.network.listener.ClientPlayPacketListener;
+import net.minecraft.network.packet.Packet;
+import net.minecraft.network.packet.s2c.play.CustomPayloadS2CPacket;
 import net.minecraft.server.network.EntityTrackerEntry;
 import net.minecraft.server.network.ServerPlayerEntity;
 import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.Unique;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 
+import javax.annotation.Nullable;
+import java.util.function.Consumer;
+
 @Mixin(EntityTrackerEntry.class)
 public abstract class MixinEntityTrackerEntry {
+    @Unique
+    private static final boolean SYNC_COMPONENTS = FabricLoader.getInstance().isModLoaded("fabric-networking-api-v1");
+
     @Shadow
     @Final
     private Entity entity;
 
+    @Unique
+    private @Nullable ServerPlayerEntity cca$startTrackingPlayer;
+
+    @Inject(method = "startTracking", at = @At("HEAD"))
+    private void captureTrackingPlayer(ServerPlayerEntity player, CallbackInfo ci) {
+        this.cca$startTrackingPlayer = player;
+    }
+
+    @Inject(method = "sendPackets", at = @At("RETURN"))
+    private void bundleComponentSync(Consumer<Packet<ClientPlayPacketListener>> sender, CallbackInfo ci) {
+        // the spawn packets get bundled together by startTracking, so components get applied as soon as the entity appears
+        if (SYNC_COMPONENTS && this.cca$startTrackingPlayer != null) {
+            CustomPayloadS2CPacket packet = CardinalComponentsEntity.createSpawnSyncPacket(this.cca$startTrackingPlayer, this.entity);
+
+            if (packet != null) {
+                sender.accept(packet);
+            }
+        }
+    }
+
     @Inject(method = "startTracking", at = @At("RETURN"))
     private void onStartedTracking(ServerPlayerEntity player, CallbackInfo ci) {
+        this.cca$startTrackingPlayer = null;
         TrackingStartCallback.EVENT.invoker().onPlayerStartTracking(player, this.entity);
     }
 }
@@ -23,6 +23,7 @@
 package dev.onyxstudios.cca.mixin.entity.common;
 
 import dev.onyxstudios.cca.api.v3.component.ComponentProvider;
+import dev.onyxstudios.cca.internal.entity.CardinalEntityInternals;
 import net.minecraft.entity.Entity;
 import net.minecraft.server.world.ServerWorld;
 import org.spongepowered.asm.mixin.Mixin;
@@ -35,11 +36,16 @@ public abstract class MixinServerWorld {
 
     @Inject(method = "tickEntity", at = @At(value = "INVOKE", target = "Lnet/minecraft/entity/Entity;tick()V", shift = At.Shift.AFTER))
     private void tick(Entity entity, CallbackInfo ci) {
-        ((ComponentProvider) entity).getComponentContainer().tickServerComponents();
+        // skips non-ticking entities without creating their container, nor dispatching an empty tick
+        if (CardinalEntityInternals.hasServerTickers(entity.getClass())) {
+            ((ComponentProvider) entity).getComponentContainer().tickServerComponents();
+        }
     }
 
     @Inject(method = "tickPassenger", at = @At(value = "INVOKE", target = "Lnet/minecraft/entity/Entity;tickRiding()V", shift = At.Shift.AFTER))
     private void tickRiding(Entity vehicle, Entity passenger, CallbackInfo ci) {
-        ((ComponentProvider) passenger).getComponentContainer().tickServerComponents();
+        if (CardinalEntityInternals.hasServerTickers(passenger.getClass())) {
+            ((ComponentProvider) passenger).getComponentContainer().tickServerComponents();
+        }
     }
 }
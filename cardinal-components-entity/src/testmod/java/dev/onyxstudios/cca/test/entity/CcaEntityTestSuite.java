@@ -22,20 +22,32 @@
  */
 package dev.onyxstudios.cca.test.entity;
 
+import dev.onyxstudios.cca.api.v3.component.ComponentContainer;
 import dev.onyxstudios.cca.test.base.Vita;
 import io.github.ladysnake.elmendorf.ElmendorfTestContext;
+import io.github.ladysnake.elmendorf.GameTestUtil;
 import net.fabricmc.fabric.api.gametest.v1.FabricGameTest;
 import net.minecraft.entity.Bucketable;
+import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityType;
 import net.minecraft.item.EntityBucketItem;
 import net.minecraft.item.ItemStack;
 import net.minecraft.item.Items;
+import net.minecraft.nbt.NbtCompound;
 import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
 import net.minecraft.test.GameTest;
 import net.minecraft.test.TestContext;
 import net.minecraft.util.Hand;
 import net.minecraft.util.math.BlockPos;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 public class CcaEntityTestSuite implements FabricGameTest {
     @GameTest(templateName = EMPTY_STRUCTURE)
     public void bucketableWorks(TestContext ctx) {
@@ -49,6 +61,52 @@ public class CcaEntityTestSuite implements FabricGameTest {
         ctx.expectEntityWithDataEnd(pos, EntityType.AXOLOTL, a -> a.getComponent(Vita.KEY).getVitality(), 3);
     }
 
+    @GameTest(templateName = EMPTY_STRUCTURE)
+    public void unaccessedEntityComponentsKeepData(TestContext ctx) {
+        var axolotl = EntityType.AXOLOTL.create(ctx.getWorld());
+        assert axolotl != null;
+        axolotl.getComponent(Vita.KEY).setVitality(4);
+        NbtCompound nbt = axolotl.writeNbt(new NbtCompound());
+        // the copy's components never get created, its data must be saved as it was read
+        var copy = EntityType.AXOLOTL.create(ctx.getWorld());
+        assert copy != null;
+        copy.readNbt(nbt);
+        NbtCompound copyNbt = copy.writeNbt(new NbtCompound());
+        var secondCopy = EntityType.AXOLOTL.create(ctx.getWorld());
+        assert secondCopy != null;
+        secondCopy.readNbt(copyNbt);
+        GameTestUtil.assertTrue("Deferred entity component data should survive reserialization", secondCopy.getComponent(Vita.KEY).getVitality() == 4);
+        ctx.complete();
+    }
+
+    @GameTest(templateName = EMPTY_STRUCTURE)
+    public void entitiesCanBeCreatedConcurrently(TestContext ctx) throws InterruptedException {
+        ServerWorld world = ctx.getWorld();
+        List<EntityType<?>> types = List.of(CcaEntityTestMod.TEST_ENTITY, EntityType.ARMOR_STAND, EntityType.MARKER, EntityType.ITEM, EntityType.SNOWBALL);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        try {
+            List<Future<ComponentContainer>> containers = new ArrayList<>();
+            for (int i = 0; i < 256; i++) {
+                EntityType<?> type = types.get(i % types.size());
+                containers.add(executor.submit(() -> {
+                    Entity entity = type.create(world);
+                    assert entity != null;
+                    return entity.asComponentProvider().getComponentContainer();
+                }));
+            }
+            for (Future<ComponentContainer> container : containers) {
+                GameTestUtil.assertTrue("Entities created off-thread should have a component container", container.get() != null);
+            }
+        } catch (ExecutionException e) {
+            throw new AssertionError("Failed to create an entity off-thread", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        ctx.complete();
+    }
+
     @GameTest(templateName = EMPTY_STRUCTURE)
     public void moddedEntitiesWork(TestContext ctx) {
         ctx.spawnEntity(CcaEntityTestMod.TEST_ENTITY, 0, 0, 0);
@@ -24,7 +24,13 @@ package dev.onyxstudios.cca.internal.item;
 
 import dev.onyxstudios.cca.api.v3.component.ComponentContainer;
 import net.minecraft.item.ItemStack;
+import org.jetbrains.annotations.Nullable;
 
 public interface ItemCaller {
     ComponentContainer cardinal_createComponents(ItemStack stack);
+
+    @Nullable
+    ComponentContainer.Factory<ItemStack> cardinal_getContainerFactory();
+
+    void cardinal_setContainerFactory(ComponentContainer.Factory<ItemStack> factory);
 }
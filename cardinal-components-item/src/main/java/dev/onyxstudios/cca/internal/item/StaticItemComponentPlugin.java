@@ -31,6 +31,7 @@ import dev.onyxstudios.cca.api.v3.component.TransientComponent;
 import dev.onyxstudios.cca.api.v3.item.ItemComponent;
 import dev.onyxstudios.cca.api.v3.item.ItemComponentFactoryRegistry;
 import dev.onyxstudios.cca.api.v3.item.ItemComponentInitializer;
+import dev.onyxstudios.cca.internal.base.ContainerFactoryWarmUp;
 import dev.onyxstudios.cca.internal.base.LazyDispatcher;
 import dev.onyxstudios.cca.internal.base.asm.CcaAsmHelper;
 import dev.onyxstudios.cca.internal.base.asm.StaticComponentPluginBase;
@@ -42,10 +43,12 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 public final class StaticItemComponentPlugin extends LazyDispatcher implements ItemComponentFactoryRegistry {
     public static final StaticItemComponentPlugin INSTANCE = new StaticItemComponentPlugin();
@@ -70,7 +73,34 @@ public final class StaticItemComponentPlugin extends LazyDispatcher implements I
         return INSTANCE.getFactoryClass(item, itemId);
     }
 
-    public ComponentContainer.Factory<ItemStack> getFactoryClass(Item item, Identifier itemId) {
+    /**
+     * Gets the container factory cached on an item, or creates it if none exists.
+     *
+     * <p>Stacks may be created from any thread, and a builder can only be used once,
+     * so the resolution is synchronized.
+     */
+    public synchronized ComponentContainer.Factory<ItemStack> getOrCreateFactory(Item item) {
+        ItemCaller caller = (ItemCaller) item;
+        ComponentContainer.Factory<ItemStack> existing = caller.cardinal_getContainerFactory();
+        if (existing != null) return existing;
+
+        ComponentContainer.Factory<ItemStack> factory = createItemStackContainerFactory(item);
+        caller.cardinal_setContainerFactory(factory);
+        return factory;
+    }
+
+    public synchronized ComponentContainer.Factory<ItemStack> getFactoryClass(Item item, Identifier itemId) {
+        ComponentContainer.Factory.Builder<ItemStack> builder = this.prepareFactory(item, itemId);
+        return builder == null ? this.emptyFactory : builder.build();
+    }
+
+    /**
+     * Resolves the components of an item's container factory, without generating any class yet.
+     *
+     * @return a builder for the item's container factory, or {@code null} if the item has no components
+     */
+    @Nullable
+    private ComponentContainer.Factory.Builder<ItemStack> prepareFactory(Item item, Identifier itemId) {
         this.ensureInitialized();
         Objects.requireNonNull(item);
 
@@ -79,10 +109,32 @@ public final class StaticItemComponentPlugin extends LazyDispatcher implements I
         }
 
         if (this.componentFactories.containsKey(itemId)) {
-            return this.componentFactories.get(itemId).factoryNameSuffix(getSuffix(itemId)).build();
+            return this.componentFactories.get(itemId).factoryNameSuffix(getSuffix(itemId));
+        }
+
+        return null;
+    }
+
+    /**
+     * Generates the container factory of every registered item, so that they are not spun
+     * the first time a stack of such an item gets created.
+     */
+    public synchronized void warmUpFactories() {
+        Map<Item, Supplier<ComponentContainer.Factory<ItemStack>>> builders = new LinkedHashMap<>();
+
+        for (Item item : Registries.ITEM) {
+            ItemCaller caller = (ItemCaller) item;
+            if (caller.cardinal_getContainerFactory() != null) continue;
+
+            ComponentContainer.Factory.Builder<ItemStack> builder = this.prepareFactory(item, Registries.ITEM.getId(item));
+            if (builder == null) {
+                caller.cardinal_setContainerFactory(this.emptyFactory);
+            } else {
+                builders.put(item, builder::build);
+            }
         }
 
-        return this.emptyFactory;
+        ContainerFactoryWarmUp.buildAll("item", builders).forEach((item, factory) -> ((ItemCaller) item).cardinal_setContainerFactory(factory));
     }
 
     @Override
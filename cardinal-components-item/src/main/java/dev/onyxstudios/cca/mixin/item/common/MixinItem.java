@@ -32,15 +32,26 @@ import org.spongepowered.asm.mixin.Unique;
 
 @Mixin(Item.class)
 public abstract class MixinItem implements ItemCaller {
-    @Unique private ComponentContainer.Factory<ItemStack> cardinal_containerFactory;
+    @Unique private volatile ComponentContainer.Factory<ItemStack> cardinal_containerFactory;
 
     @Override
     public ComponentContainer cardinal_createComponents(ItemStack stack) {
         //noinspection ConstantConditions
         assert stack.getItem() == (Object) this;
-        if (this.cardinal_containerFactory == null) {
-            this.cardinal_containerFactory = StaticItemComponentPlugin.createItemStackContainerFactory((Item) (Object) this);
+        ComponentContainer.Factory<ItemStack> factory = this.cardinal_containerFactory;
+        if (factory == null) {
+            factory = StaticItemComponentPlugin.INSTANCE.getOrCreateFactory((Item) (Object) this);
         }
-        return this.cardinal_containerFactory.createContainer(stack);
+        return factory.createContainer(stack);
+    }
+
+    @Override
+    public ComponentContainer.Factory<ItemStack> cardinal_getContainerFactory() {
+        return this.cardinal_containerFactory;
+    }
+
+    @Override
+    public void cardinal_setContainerFactory(ComponentContainer.Factory<ItemStack> factory) {
+        this.cardinal_containerFactory = factory;
     }
 }
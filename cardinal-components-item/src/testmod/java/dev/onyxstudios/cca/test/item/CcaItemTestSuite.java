@@ -0,0 +1,68 @@
+/*
+ * Cardinal-Components-API
+ * Copyright (C) 2019-2023 OnyxStudios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ * OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+ * OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package dev.onyxstudios.cca.test.item;
+
+import dev.onyxstudios.cca.test.base.Vita;
+import io.github.ladysnake.elmendorf.GameTestUtil;
+import net.fabricmc.fabric.api.gametest.v1.FabricGameTest;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.Items;
+import net.minecraft.test.GameTest;
+import net.minecraft.test.TestContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class CcaItemTestSuite implements FabricGameTest {
+    @GameTest(templateName = EMPTY_STRUCTURE)
+    public void stacksCanBeCreatedConcurrently(TestContext ctx) throws InterruptedException {
+        List<Item> items = List.of(Items.WOODEN_SWORD, Items.STONE_SWORD, Items.IRON_SWORD, Items.GOLDEN_SWORD, Items.DIAMOND_SWORD, Items.NETHERITE_SWORD, Items.STICK);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        try {
+            List<Future<ItemStack>> stacks = new ArrayList<>();
+            for (int i = 0; i < 256; i++) {
+                Item item = items.get(i % items.size());
+                stacks.add(executor.submit(() -> new ItemStack(item)));
+            }
+            for (Future<ItemStack> future : stacks) {
+                ItemStack stack = future.get();
+                GameTestUtil.assertTrue(
+                    "Stacks created off-thread should have the right components",
+                    stack.isOf(Items.STICK) ? Vita.KEY.getNullable(stack) == null : Vita.KEY.get(stack).getVitality() == 1
+                );
+            }
+        } catch (ExecutionException e) {
+            throw new AssertionError("Failed to create an item stack off-thread", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        ctx.complete();
+    }
+}
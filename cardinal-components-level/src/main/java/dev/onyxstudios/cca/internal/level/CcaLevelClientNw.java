@@ -22,39 +22,31 @@
  */
 package dev.onyxstudios.cca.internal.level;
 
-import dev.onyxstudios.cca.api.v3.component.Component;
 import dev.onyxstudios.cca.api.v3.component.ComponentKey;
-import dev.onyxstudios.cca.api.v3.component.ComponentRegistry;
-import dev.onyxstudios.cca.api.v3.component.sync.AutoSyncedComponent;
+import dev.onyxstudios.cca.internal.base.ComponentNetworkIds;
 import dev.onyxstudios.cca.internal.base.ComponentsInternals;
+import dev.onyxstudios.cca.internal.base.PendingSyncUpdate;
 import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
 import net.fabricmc.loader.api.FabricLoader;
-import net.minecraft.network.PacketByteBuf;
-import net.minecraft.util.Identifier;
 
 public final class CcaLevelClientNw {
     public static void initClient() {
         if (FabricLoader.getInstance().isModLoaded("fabric-networking-api-v1")) {
             ClientPlayNetworking.registerGlobalReceiver(ComponentsLevelNetworking.PACKET_ID, (client, handler, buffer, res) -> {
                 try {
-                    Identifier componentTypeId = buffer.readIdentifier();
-                    ComponentKey<?> componentKey = ComponentRegistry.get(componentTypeId);
+                    ComponentKey<?> componentKey = ComponentNetworkIds.readKey(buffer);
 
                     if (componentKey == null) {
                         return;
                     }
 
-                    PacketByteBuf copy = new PacketByteBuf(buffer.copy());
+                    PendingSyncUpdate update = PendingSyncUpdate.read(componentKey, buffer);
                     client.execute(() -> {
                         try {
                             assert client.world != null;
-                            Component c = componentKey.get(client.world.getLevelProperties());
-
-                            if (c instanceof AutoSyncedComponent) {
-                                ((AutoSyncedComponent) c).applySyncPacket(copy);
-                            }
+                            update.apply(componentKey.get(client.world.getLevelProperties()));
                         } finally {
-                            copy.release();
+                            update.release();
                         }
                     });
                 } catch (Exception e) {
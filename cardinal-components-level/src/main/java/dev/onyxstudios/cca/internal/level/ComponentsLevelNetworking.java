@@ -36,7 +36,7 @@ public final class ComponentsLevelNetworking {
      * {@link CustomPayloadS2CPacket} channel for default level component synchronization.
      *
      * <p> Packets emitted on this channel must begin with the
-     * {@link ComponentKey#getId() component's type} (as an Identifier).
+     * {@link ComponentKey#getId() component's type} (as written by {@link dev.onyxstudios.cca.internal.base.ComponentNetworkIds#writeKey ComponentNetworkIds#writeKey}).
      *
      * <p> Components synchronized through this channel will have {@linkplain AutoSyncedComponent#applySyncPacket(PacketByteBuf)}
      * called on the game thread.
@@ -30,6 +30,7 @@ import dev.onyxstudios.cca.api.v3.component.ComponentKey;
 import dev.onyxstudios.cca.api.v3.component.ComponentProvider;
 import dev.onyxstudios.cca.api.v3.component.sync.AutoSyncedComponent;
 import dev.onyxstudios.cca.api.v3.component.sync.ComponentPacketWriter;
+import dev.onyxstudios.cca.internal.base.ComponentNetworkIds;
 import dev.onyxstudios.cca.internal.level.ComponentsLevelNetworking;
 import dev.onyxstudios.cca.internal.level.StaticLevelComponentPlugin;
 import net.fabricmc.fabric.api.networking.v1.PacketByteBufs;
@@ -62,6 +63,8 @@ import java.util.UUID;
 public abstract class MixinLevelProperties implements ServerWorldProperties, ComponentProvider {
     @Unique
     private ComponentContainer components;
+    @Unique
+    private @Nullable NbtCompound savedComponentData;
 
     @Inject(method = "<init>(Lcom/mojang/datafixers/DataFixer;ILnet/minecraft/nbt/NbtCompound;ZIIIFJJIIIZIZZZLnet/minecraft/world/border/WorldBorder$Properties;IILjava/util/UUID;Ljava/util/Set;Lnet/minecraft/world/timer/Timer;Lnet/minecraft/nbt/NbtCompound;Lnet/minecraft/nbt/NbtCompound;Lnet/minecraft/world/level/LevelInfo;Lnet/minecraft/world/gen/GeneratorOptions;Lnet/minecraft/world/level/LevelProperties$SpecialProperty;Lcom/mojang/serialization/Lifecycle;)V", at = @At("RETURN"))
     private void initComponents(DataFixer dataFixer, int dataVersion, NbtCompound playerData, boolean modded, int spawnX, int spawnY, int spawnZ, float spawnAngle, long time, long timeOfDay, int version, int clearWeatherTime, int rainTime, boolean raining, int thunderTime, boolean thundering, boolean initialized, boolean difficultyLocked, WorldBorder.Properties worldBorder, int wanderingTraderSpawnDelay, int wanderingTraderSpawnChance, UUID wanderingTraderId, Set<?> serverBrands, Timer<?> scheduledEvents, NbtCompound customBossEvents, NbtCompound dragonFight, LevelInfo levelInfo, GeneratorOptions generatorOptions, LevelProperties.SpecialProperty specialProperty, Lifecycle lifecycle, CallbackInfo ci) {
@@ -75,7 +78,12 @@ public abstract class MixinLevelProperties implements ServerWorldProperties, Com
 
     @Inject(method = "updateProperties", at = @At("RETURN"))
     private void writeComponents(DynamicRegistryManager tracker, NbtCompound data, NbtCompound player, CallbackInfo ci) {
-        this.components.toTag(data);
+        // level.dat gets rewritten on every save, reuse the last serialized data if no component could have changed
+        if (this.savedComponentData == null || this.components.hasUntrackedComponents() || this.components.hasDirtyComponents()) {
+            this.savedComponentData = this.components.toTag(new NbtCompound());
+            this.components.clearDirtyComponents();
+        }
+        data.copyFrom(this.savedComponentData);
     }
 
     @Nonnull
@@ -93,7 +101,7 @@ public abstract class MixinLevelProperties implements ServerWorldProperties, Com
     @Override
     public <C extends AutoSyncedComponent> CustomPayloadS2CPacket toComponentPacket(ComponentKey<? super C> key, ComponentPacketWriter writer, ServerPlayerEntity recipient) {
         PacketByteBuf buf = PacketByteBufs.create();
-        buf.writeIdentifier(key.getId());
+        ComponentNetworkIds.writeKey(buf, key, recipient);
         writer.writeSyncPacket(buf, recipient);
         return new CustomPayloadS2CPacket(ComponentsLevelNetworking.PACKET_ID, buf);
     }
@@ -24,9 +24,9 @@ package dev.onyxstudios.cca.internal.scoreboard;
 
 import dev.onyxstudios.cca.api.v3.component.Component;
 import dev.onyxstudios.cca.api.v3.component.ComponentKey;
-import dev.onyxstudios.cca.api.v3.component.ComponentRegistry;
-import dev.onyxstudios.cca.api.v3.component.sync.AutoSyncedComponent;
+import dev.onyxstudios.cca.internal.base.ComponentNetworkIds;
 import dev.onyxstudios.cca.internal.base.ComponentsInternals;
+import dev.onyxstudios.cca.internal.base.PendingSyncUpdate;
 import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
 import net.fabricmc.loader.api.FabricLoader;
 import net.minecraft.network.PacketByteBuf;
@@ -54,18 +54,16 @@ public final class CcaScoreboardClientNw {
         ClientPlayNetworking.registerGlobalReceiver(packetId, (client, handler, buffer, res) -> {
             try {
                 BiFunction<ComponentKey<?>, Scoreboard, Optional<? extends Component>> getter = reader.apply(buffer);
-                Identifier componentTypeId = buffer.readIdentifier();
-                ComponentKey<?> componentType = ComponentRegistry.get(componentTypeId);
+                ComponentKey<?> componentType = ComponentNetworkIds.readKey(buffer);
 
                 if (componentType != null) {
-                    buffer.retain();
+                    PendingSyncUpdate update = PendingSyncUpdate.read(componentType, buffer);
                     client.execute(() -> {
                         try {
                             getter.apply(componentType, handler.getWorld().getScoreboard())
-                                .filter(c -> c instanceof AutoSyncedComponent)
-                                .ifPresent(c -> ((AutoSyncedComponent) c).applySyncPacket(buffer));
+                                .ifPresent(update::apply);
                         } finally {
-                            buffer.release();
+                            update.release();
                         }
                     });
                 }
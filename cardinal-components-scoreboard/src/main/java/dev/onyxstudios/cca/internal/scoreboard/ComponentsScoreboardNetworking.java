@@ -36,7 +36,7 @@ public final class ComponentsScoreboardNetworking {
     /**
      * {@link CustomPayloadS2CPacket} channel for default scoreboard component synchronization.
      *
-     * <p> Packets emitted on this channel must begin with the {@link Identifier} for the component's type.
+     * <p> Packets emitted on this channel must begin with the {@link ComponentKey#getId() component's type} (as written by {@link dev.onyxstudios.cca.internal.base.ComponentNetworkIds#writeKey ComponentNetworkIds#writeKey}).
      *
      * <p> Components synchronized through this channel will have {@linkplain AutoSyncedComponent#applySyncPacket(PacketByteBuf)}
      * called on the game thread.
@@ -46,7 +46,7 @@ public final class ComponentsScoreboardNetworking {
      * {@link CustomPayloadS2CPacket} channel for default team component synchronization.
      *
      * <p> Packets emitted on this channel must begin with, in order, the team's name as a {@link String},
-     * and the {@link Identifier} for the component's type.
+     * and the {@link ComponentKey#getId() component's type} (as written by {@link dev.onyxstudios.cca.internal.base.ComponentNetworkIds#writeKey ComponentNetworkIds#writeKey}).
      *
      * <p> Components synchronized through this channel will have {@linkplain AutoSyncedComponent#applySyncPacket(PacketByteBuf)}
      * called on the game thread.
@@ -22,9 +22,14 @@
  */
 package dev.onyxstudios.cca.mixin.scoreboard;
 
+import dev.onyxstudios.cca.api.v3.component.ComponentContainer;
+import dev.onyxstudios.cca.api.v3.component.ComponentProvider;
+import net.minecraft.scoreboard.Scoreboard;
 import net.minecraft.scoreboard.ScoreboardState;
+import net.minecraft.scoreboard.Team;
 import net.minecraft.world.PersistentState;
 import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
@@ -34,8 +39,28 @@ public abstract class MixinPersistentState {
     @Inject(method = "isDirty", at = @At("RETURN"), cancellable = true)
     private void forceDirty(CallbackInfoReturnable<Boolean> cir) {
         //noinspection ConstantConditions
-        if (!cir.getReturnValueZ() && (Object) this instanceof ScoreboardState) {
+        if (!cir.getReturnValueZ() && (Object) this instanceof ScoreboardState state && hasUnsavedComponents(((ScoreboardStateAccessor) state).getScoreboard())) {
             cir.setReturnValue(true);
         }
     }
+
+    @Unique
+    private static boolean hasUnsavedComponents(Scoreboard scoreboard) {
+        if (hasUnsavedComponents(((ComponentProvider) scoreboard).getComponentContainer())) {
+            return true;
+        }
+
+        for (Team team : scoreboard.getTeams()) {
+            if (hasUnsavedComponents(((ComponentProvider) team).getComponentContainer())) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Unique
+    private static boolean hasUnsavedComponents(ComponentContainer components) {
+        return components.hasUntrackedComponents() || components.hasDirtyComponents();
+    }
 }
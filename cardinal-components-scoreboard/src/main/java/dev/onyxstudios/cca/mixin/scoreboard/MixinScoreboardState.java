@@ -22,6 +22,7 @@
  */
 package dev.onyxstudios.cca.mixin.scoreboard;
 
+import dev.onyxstudios.cca.api.v3.component.ComponentContainer;
 import dev.onyxstudios.cca.api.v3.component.ComponentProvider;
 import net.minecraft.nbt.NbtCompound;
 import net.minecraft.nbt.NbtList;
@@ -48,7 +49,9 @@ public abstract class MixinScoreboardState {
 
     @Inject(method = "writeNbt", at = @At("RETURN"))
     private void saveComponents(NbtCompound tag, CallbackInfoReturnable<NbtCompound> cir) {
-        ((ComponentProvider) this.scoreboard).getComponentContainer().toTag(tag);
+        ComponentContainer components = ((ComponentProvider) this.scoreboard).getComponentContainer();
+        components.toTag(tag);
+        components.clearDirtyComponents();
     }
 
     @Inject(method = "readNbt", at = @At("RETURN"))
@@ -85,6 +88,8 @@ public abstract class MixinScoreboardState {
         Team team,
         NbtCompound teamData
     ) {
-        ((ComponentProvider) team).getComponentContainer().toTag(teamData);
+        ComponentContainer components = ((ComponentProvider) team).getComponentContainer();
+        components.toTag(teamData);
+        components.clearDirtyComponents();
     }
 }
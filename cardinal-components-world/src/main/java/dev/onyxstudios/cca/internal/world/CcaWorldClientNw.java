@@ -22,36 +22,30 @@
  */
 package dev.onyxstudios.cca.internal.world;
 
-import dev.onyxstudios.cca.api.v3.component.Component;
 import dev.onyxstudios.cca.api.v3.component.ComponentKey;
-import dev.onyxstudios.cca.api.v3.component.ComponentRegistry;
-import dev.onyxstudios.cca.api.v3.component.sync.AutoSyncedComponent;
+import dev.onyxstudios.cca.internal.base.ComponentNetworkIds;
 import dev.onyxstudios.cca.internal.base.ComponentsInternals;
+import dev.onyxstudios.cca.internal.base.PendingSyncUpdate;
 import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
-import net.minecraft.util.Identifier;
 
 public final class CcaWorldClientNw {
     public static void initClient() {
         ClientPlayNetworking.registerGlobalReceiver(ComponentsWorldNetworking.PACKET_ID, (client, handler, buf, res) -> {
             try {
-                Identifier componentTypeId = buf.readIdentifier();
-                ComponentKey<?> componentType = ComponentRegistry.get(componentTypeId);
+                ComponentKey<?> componentType = ComponentNetworkIds.readKey(buf);
 
                 if (componentType == null) {
                     return;
                 }
 
-                buf.retain();
+                PendingSyncUpdate update = PendingSyncUpdate.read(componentType, buf);
 
                 client.execute(() -> {
                     try {
                         assert client.world != null;
-                        Component c = componentType.get(client.world);
-                        if (c instanceof AutoSyncedComponent) {
-                            ((AutoSyncedComponent) c).applySyncPacket(buf);
-                        }
+                        update.apply(componentType.get(client.world));
                     } finally {
-                        buf.release();
+                        update.release();
                     }
                 });
             } catch (Exception e) {
@@ -36,12 +36,15 @@ public class ComponentPersistentState extends PersistentState {
 
     @Override
     public boolean isDirty() {
-        return true;
+        // untracked components may have changed at any time, so they keep the state dirty
+        return super.isDirty() || this.components.hasUntrackedComponents() || this.components.hasDirtyComponents();
     }
 
     @Override
     public NbtCompound writeNbt(NbtCompound tag) {
-        return this.components.toTag(tag);
+        NbtCompound ret = this.components.toTag(tag);
+        this.components.clearDirtyComponents();
+        return ret;
     }
 
     public static ComponentPersistentState fromNbt(ComponentContainer components, NbtCompound tag) {
@@ -25,6 +25,7 @@ package dev.onyxstudios.cca.mixin.world.common;
 import dev.onyxstudios.cca.api.v3.component.ComponentKey;
 import dev.onyxstudios.cca.api.v3.component.sync.AutoSyncedComponent;
 import dev.onyxstudios.cca.api.v3.component.sync.ComponentPacketWriter;
+import dev.onyxstudios.cca.internal.base.ComponentNetworkIds;
 import dev.onyxstudios.cca.internal.world.ComponentPersistentState;
 import dev.onyxstudios.cca.internal.world.ComponentsWorldNetworking;
 import net.fabricmc.fabric.api.networking.v1.PacketByteBufs;
@@ -77,7 +78,7 @@ public abstract class MixinServerWorld extends MixinWorld {
     @Override
     public <C extends AutoSyncedComponent> CustomPayloadS2CPacket toComponentPacket(ComponentKey<? super C> key, ComponentPacketWriter writer, ServerPlayerEntity recipient) {
         PacketByteBuf buf = PacketByteBufs.create();
-        buf.writeIdentifier(key.getId());
+        ComponentNetworkIds.writeKey(buf, key, recipient);
         writer.writeSyncPacket(buf, recipient);
         return new CustomPayloadS2CPacket(ComponentsWorldNetworking.PACKET_ID, buf);
     }